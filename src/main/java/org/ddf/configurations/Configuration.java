@@ -0,0 +1,173 @@
+package org.ddf.configurations;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * This class is an immutable snapshot of the configuration properties with typed accessors.
+ * Values are trimmed once when the snapshot is created, relative paths are resolved against the folder of the
+ * configuration file so that they do not depend on the current working directory.
+ */
+public final class Configuration {
+	private final File baseFolder;
+	private final Map<String, String> values;
+
+	/**
+	 * Constructor for the Configuration class.
+	 * @param properties The properties to copy into the snapshot.
+	 * @param baseFolder The folder against which relative paths are resolved.
+	 */
+	public Configuration(Properties properties, File baseFolder) {
+		Map<String, String> copy = new HashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			copy.put(key, properties.getProperty(key).trim());
+		}
+		this.values = Collections.unmodifiableMap(copy);
+		this.baseFolder = baseFolder;
+	}
+
+	/**
+	 * Get the folder against which relative paths are resolved.
+	 * @return The folder of the configuration file.
+	 */
+	public File getBaseFolder() {
+		return baseFolder;
+	}
+
+	/**
+	 * Check whether a property is defined.
+	 * @param key The key of the property.
+	 * @return true if the property is defined, false otherwise.
+	 */
+	public boolean contains(String key) {
+		return values.containsKey(key);
+	}
+
+	/**
+	 * Get a property value as a string.
+	 * @param key The key of the property.
+	 * @return The trimmed value of the property.
+	 * @throws IllegalArgumentException if the property is not defined.
+	 */
+	public String getString(String key) {
+		String value = values.get(key);
+		if (value == null) {
+			throw new IllegalArgumentException("Property was not found: " + key);
+		}
+		return value;
+	}
+
+	/**
+	 * Get a property value as a string, or a default if it is not defined.
+	 * @param key The key of the property.
+	 * @param defaultValue The value to return if the property is not defined.
+	 * @return The trimmed value of the property or the default value.
+	 */
+	public String getString(String key, String defaultValue) {
+		return values.getOrDefault(key, defaultValue);
+	}
+
+	/**
+	 * Get a property value as an int.
+	 * @param key The key of the property.
+	 * @return The value of the property.
+	 * @throws IllegalArgumentException if the property is not defined or not a number.
+	 */
+	public int getInt(String key) {
+		String value = getString(key);
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Property " + key + " is not a number: " + value, e);
+		}
+	}
+
+	/**
+	 * Get a property value as a boolean, only "true" (ignoring case) is read as true.
+	 * @param key The key of the property.
+	 * @return The value of the property.
+	 * @throws IllegalArgumentException if the property is not defined.
+	 */
+	public boolean getBoolean(String key) {
+		return getString(key).equalsIgnoreCase("true");
+	}
+
+	/**
+	 * Get a property value as a duration. Plain numbers are read as seconds, other values as ISO-8601 durations (e.g. PT500MS).
+	 * @param key The key of the property.
+	 * @return The value of the property.
+	 * @throws IllegalArgumentException if the property is not defined or not a duration.
+	 */
+	public Duration getDuration(String key) {
+		String value = getString(key);
+		try {
+			return value.chars().allMatch(Character::isDigit) ? Duration.ofSeconds(Long.parseLong(value)) : Duration.parse(value);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Property " + key + " is not a duration: " + value, e);
+		}
+	}
+
+	/**
+	 * Get the base URL of the application.
+	 * @return The value of the url property.
+	 */
+	public String getBaseUrl() {
+		return getString("url");
+	}
+
+	/**
+	 * Get the explicit wait used by the page objects.
+	 * @return The value of the explicitWait property.
+	 */
+	public Duration getExplicitWait() {
+		return getDuration("explicitWait");
+	}
+
+	/**
+	 * Get the implicit wait of the WebDriver.
+	 * @return The value of the implicitWait property.
+	 */
+	public Duration getImplicitWait() {
+		return getDuration("implicitWait");
+	}
+
+	/**
+	 * Get the maximum time to wait for a download.
+	 * @return The value of the downloadTime property.
+	 */
+	public Duration getDownloadWait() {
+		return getDuration("downloadTime");
+	}
+
+	/**
+	 * Get the number of times a failed test is rerun.
+	 * @return 1 if the retry property is true, 0 otherwise.
+	 */
+	public int getMaxTry() {
+		return getBoolean("retry") ? 1 : 0;
+	}
+
+	/**
+	 * Get a property value as a path, relative paths are resolved against the folder of the configuration file.
+	 * @param key The key of the property.
+	 * @return The absolute path.
+	 * @throws IllegalArgumentException if the property is not defined.
+	 */
+	public File getPath(String key) {
+		return resolve(getString(key));
+	}
+
+	/**
+	 * Resolve a path against the folder of the configuration file.
+	 * @param path The path to resolve.
+	 * @return The absolute path.
+	 */
+	public File resolve(String path) {
+		File file = new File(path);
+		return file.isAbsolute() ? file : new File(baseFolder, path).getAbsoluteFile();
+	}
+}
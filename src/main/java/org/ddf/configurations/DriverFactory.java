@@ -0,0 +1,259 @@
+package org.ddf.configurations;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ddf.reports.RunMetrics;
+import org.ddf.utils.DownloadTracker;
+import org.ddf.utils.NetworkIdleWaiter;
+import org.ddf.utils.XhrTracker;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * This class launches the browsers used by the tests.
+ * <p>
+ * The {@code browserProfile} property selects how Chrome is started. The {@code default} profile runs a maximised,
+ * headed browser. The {@code throughput} profile runs headless with a fixed window size, without background
+ * networking, component updates, extensions and remote fonts, optionally without images, and copies every
+ * browser's user data from a shared template that is seeded by the first launch. The copy is deleted when the
+ * browser is quit through {@link #quit(WebDriver)}.
+ * Every browser downloads into its own folder below the download folder, so parallel tests do not share downloads.
+ * Browser startup and base URL load timings are recorded in {@link RunMetrics} for the run summary.
+ */
+public class DriverFactory implements GlobalVariables {
+	private static final Logger log = LogManager.getLogger(DriverFactory.class);
+	public static final String DEFAULT_PROFILE = "default";
+	public static final String THROUGHPUT_PROFILE = "throughput";
+	private static final List<String> THROUGHPUT_ARGUMENTS = List.of("--headless=new", "--disable-background-networking",
+			"--disable-component-update", "--disable-extensions", "--disable-sync", "--disable-default-apps",
+			"--disable-remote-fonts", "--no-first-run", "--no-default-browser-check", "--mute-audio");
+	private static final String NAVIGATION_TIME_SCRIPT = "var entry = performance.getEntriesByType('navigation')[0];"
+			+ " return entry && entry.loadEventEnd > 0 ? Math.round(entry.loadEventEnd) : -1;";
+	private static final Set<File> USER_DATA_FOLDERS = ConcurrentHashMap.newKeySet();
+	private static final Map<WebDriver, File> DRIVER_USER_DATA = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final Map<WebDriver, String> DOWNLOAD_FOLDERS = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final AtomicInteger BROWSER_COUNT = new AtomicInteger();
+
+	static {
+		// Browsers that were never quit through the factory leave their user data behind until the JVM exits
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> USER_DATA_FOLDERS.forEach(FileUtils::deleteQuietly), "user-data-cleanup"));
+	}
+
+	private DriverFactory() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Get the browser profile selected in the configuration.
+	 * @return The name of the profile.
+	 */
+	public static String getProfile() {
+		return configManager.getConfiguration().getString("browserProfile", DEFAULT_PROFILE);
+	}
+
+	/**
+	 * Launch a new browser with the current configuration and open the base URL.
+	 * @return The new WebDriver instance.
+	 */
+	public static WebDriver createDriver() {
+		Configuration configuration = configManager.getConfiguration();
+		boolean throughput = THROUGHPUT_PROFILE.equalsIgnoreCase(getProfile());
+		String downloadFolder = DOWNLOAD_FOLDER + "browser-" + BROWSER_COUNT.incrementAndGet() + File.separator;
+		createFolder(downloadFolder);
+
+		// Create a new ChromeDriver instance with the options of the profile.
+		ChromeOptions options = throughput ? throughputOptions(configuration, downloadFolder) : defaultOptions(downloadFolder);
+		File userData = throughput ? copyUserDataTemplate(configuration, options) : null;
+		long start = System.nanoTime();
+		WebDriver driver;
+		try {
+			driver = new ChromeDriver(options);
+		} catch (RuntimeException e) {
+			deleteUserData(userData);
+			throw e;
+		}
+		RunMetrics.record(RunMetrics.BROWSER_STARTUP, Duration.ofNanos(System.nanoTime() - start));
+		DOWNLOAD_FOLDERS.put(driver, downloadFolder);
+		if (userData != null) {
+			DRIVER_USER_DATA.put(driver, userData);
+		}
+		try {
+			// Set the window size to maximum, the throughput profile has a fixed window size instead.
+			if (!throughput) {
+				driver.manage().window().maximize();
+			}
+
+			// Set the implicit wait time.
+			driver.manage().timeouts().implicitlyWait(configuration.getImplicitWait());
+
+			// Track network requests for page-load waits, through DevTools or by counting the XHR requests of every page.
+			if (!configuration.getBoolean("networkIdleWait") || NetworkIdleWaiter.attach(driver) == null) {
+				XhrTracker.install(driver);
+			}
+
+			// Navigate to the base URL.
+			driver.get(configuration.getBaseUrl());
+			recordBaseUrlLoad(driver);
+			return driver;
+		} catch (RuntimeException e) {
+			quit(driver);
+			throw e;
+		}
+	}
+
+	/**
+	 * Quit a browser, stop tracking the downloads of its download folder and delete its copy of the user data template.
+	 * Every browser of this factory is quit this way.
+	 * @param driver The WebDriver instance, browsers of other factories are only quit.
+	 */
+	public static void quit(WebDriver driver) {
+		try {
+			driver.quit();
+		} finally {
+			String downloadFolder = DOWNLOAD_FOLDERS.remove(driver);
+			if (downloadFolder != null) {
+				DownloadTracker.stopWatching(downloadFolder);
+			}
+			deleteUserData(DRIVER_USER_DATA.remove(driver));
+		}
+	}
+
+	/**
+	 * Get the folder a browser downloads into, it is created again if it was deleted.
+	 * @param driver The WebDriver instance, created by this factory.
+	 * @return The download folder of the browser.
+	 * @throws IllegalArgumentException if the browser was not created by this factory, its download folder is unknown.
+	 */
+	public static String getDownloadFolder(WebDriver driver) {
+		String downloadFolder = DOWNLOAD_FOLDERS.get(driver);
+		if (downloadFolder == null) {
+			throw new IllegalArgumentException("Download folder is unknown, the browser was not created by DriverFactory: " + driver);
+		}
+		createFolder(downloadFolder);
+		return downloadFolder;
+	}
+
+	/**
+	 * Record the load time of the base URL, as measured by the browser, right after it was opened by a new or
+	 * reset browser. Only these loads are sampled, so the metric compares the same page across profiles.
+	 * @param driver The WebDriver instance.
+	 */
+	static void recordBaseUrlLoad(WebDriver driver) {
+		try {
+			Object loadTime = ((JavascriptExecutor) driver).executeScript(NAVIGATION_TIME_SCRIPT);
+			if (loadTime instanceof Number && ((Number) loadTime).longValue() >= 0) {
+				RunMetrics.record(RunMetrics.BASE_URL_LOAD, Duration.ofMillis(((Number) loadTime).longValue()));
+			}
+		} catch (WebDriverException e) {
+			log.debug("Base URL load time is not available: {}", e.getMessage());
+		}
+	}
+
+	private static ChromeOptions defaultOptions(String downloadFolder) {
+		// Set up ChromeOptions for the WebDriver.
+		ChromeOptions options = new ChromeOptions();
+		HashMap<String, Object> chromeConfigs = new HashMap<>();
+		chromeConfigs.put("download.default_directory", downloadFolder);
+		options.setExperimentalOption("prefs", chromeConfigs);
+		options.addArguments("--remote-allow-origins=*");
+		options.setAcceptInsecureCerts(true);
+		return options;
+	}
+
+	private static ChromeOptions throughputOptions(Configuration configuration, String downloadFolder) {
+		ChromeOptions options = new ChromeOptions();
+		HashMap<String, Object> chromeConfigs = new HashMap<>();
+		chromeConfigs.put("download.default_directory", downloadFolder);
+		if (configuration.getBoolean("blockImages")) {
+			chromeConfigs.put("profile.managed_default_content_settings.images", 2);
+		}
+		options.setExperimentalOption("prefs", chromeConfigs);
+		options.addArguments("--remote-allow-origins=*");
+		options.addArguments(THROUGHPUT_ARGUMENTS);
+		options.addArguments("--window-size=" + configuration.getString("windowSize"));
+		options.setAcceptInsecureCerts(true);
+		return options;
+	}
+
+	/**
+	 * Give a throughput browser its own copy of the user data template, if a template is configured.
+	 * @param configuration The current configuration.
+	 * @param options The options of the throughput profile, the user data folder is added to them.
+	 * @return The copy of the template, or null if no template is configured.
+	 */
+	private static File copyUserDataTemplate(Configuration configuration, ChromeOptions options) {
+		if (!configuration.contains("userDataTemplate")) {
+			return null;
+		}
+		File template = configuration.getPath("userDataTemplate");
+		seedUserDataTemplate(template, options);
+		File userData = copyUserDataTemplate(template);
+		options.addArguments("--user-data-dir=" + userData.getAbsolutePath());
+		return userData;
+	}
+
+	/**
+	 * Create the user data template by launching a browser on it once, so that the first-run work is done only once.
+	 * @param template The folder of the template.
+	 * @param options The options of the throughput profile.
+	 */
+	private static synchronized void seedUserDataTemplate(File template, ChromeOptions options) {
+		if (template.isDirectory()) {
+			return;
+		}
+		log.info("Seeding the browser user data template: {}", template);
+		ChromeOptions seedOptions = new ChromeOptions().merge(options);
+		seedOptions.addArguments("--user-data-dir=" + template.getAbsolutePath());
+		new ChromeDriver(seedOptions).quit();
+	}
+
+	private static void createFolder(String folder) {
+		try {
+			Files.createDirectories(new File(folder).toPath());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to create the folder " + folder, e);
+		}
+	}
+
+	private static File copyUserDataTemplate(File template) {
+		File userData = null;
+		try {
+			userData = Files.createTempDirectory("ddf-user-data-").toFile();
+			USER_DATA_FOLDERS.add(userData);
+			FileUtils.copyDirectory(template, userData, file -> !file.getName().startsWith("Singleton"));
+			return userData;
+		} catch (IOException e) {
+			deleteUserData(userData);
+			throw new UncheckedIOException("Failed to copy the browser user data template " + template, e);
+		}
+	}
+
+	private static void deleteUserData(File userData) {
+		if (userData == null) {
+			return;
+		}
+		if (FileUtils.deleteQuietly(userData)) {
+			USER_DATA_FOLDERS.remove(userData);
+		} else {
+			log.warn("Failed to delete the browser user data, it is deleted when the run ends: {}", userData);
+		}
+	}
+}
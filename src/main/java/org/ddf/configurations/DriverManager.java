@@ -4,9 +4,16 @@ import org.openqa.selenium.WebDriver;
 
 /**
  * This class manages the WebDriver instances for each thread in the test automation framework.
+ * With {@code driverPoolSize} above 0 the browsers are leased from a warm {@link DriverPool} and returned to it
+ * by {@link #quitDriver()}, otherwise a new browser is used for every test, launched ahead of time by a
+ * {@link PrefetchingDriverFactory} when {@code driverPrefetch} is above 0.
  */
 public class DriverManager {
 	private static volatile DriverManager DRIVER_MANAGER;
+	private static volatile DriverPool DRIVER_POOL;
+	private static volatile PrefetchingDriverFactory DRIVER_PREFETCHER;
+	private static boolean driversConfigured;
+	private static boolean shutdownHookAdded;
 	private static final ThreadLocal<WebDriver> threadDriver = new ThreadLocal<>();
 
 	private DriverManager() {
@@ -57,11 +64,70 @@ public class DriverManager {
 	}
 
 	/**
-	 * Quit the WebDriver instance for the current thread.
+	 * Lease a browser from the pool, or launch a new one if pooling is disabled, and set it for the current thread.
+	 * The browser has the base URL open.
+	 * @return The WebDriver instance for the current thread.
+	 */
+	public static WebDriver leaseDriver() {
+		configureDrivers();
+		DriverPool pool = DRIVER_POOL;
+		PrefetchingDriverFactory prefetcher = DRIVER_PREFETCHER;
+		WebDriver driver = pool != null ? pool.lease() : prefetcher != null ? prefetcher.take() : DriverFactory.createDriver();
+		getInstance().setDriver(driver);
+		return driver;
+	}
+
+	/**
+	 * Quit the WebDriver instance for the current thread, or return it to the pool if it was leased.
 	 */
 	public static void quitDriver() {
 		WebDriver driver = getDriver();
-		driver.quit();
-		removeDriver();
+		try {
+			DriverPool pool = DRIVER_POOL;
+			if (pool != null) {
+				pool.release(driver);
+			} else {
+				DriverFactory.quit(driver);
+			}
+		} finally {
+			removeDriver();
+		}
+	}
+
+	/**
+	 * Quit the pooled and prefetched browsers, called once all tests have finished.
+	 * The next lease sets up a new pool, so a later suite in the same JVM gets fresh browsers.
+	 */
+	public static synchronized void closePool() {
+		if (DRIVER_POOL != null) {
+			DRIVER_POOL.close();
+			DRIVER_POOL = null;
+		}
+		if (DRIVER_PREFETCHER != null) {
+			DRIVER_PREFETCHER.close();
+			DRIVER_PREFETCHER = null;
+		}
+		driversConfigured = false;
+	}
+
+	private static synchronized void configureDrivers() {
+		if (driversConfigured) {
+			return;
+		}
+		Configuration configuration = configManager.getConfiguration();
+		int poolSize = configuration.getInt("driverPoolSize");
+		int prefetch = configuration.getInt("driverPrefetch");
+		if (poolSize > 0) {
+			DriverPool pool = new DriverPool(DriverFactory::createDriver, poolSize, configuration.getInt("driverMaxReuse"));
+			pool.prelaunch();
+			DRIVER_POOL = pool;
+		} else if (prefetch > 0) {
+			DRIVER_PREFETCHER = new PrefetchingDriverFactory(DriverFactory::createDriver, prefetch);
+		}
+		if (!shutdownHookAdded) {
+			Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::closePool, "driver-shutdown"));
+			shutdownHookAdded = true;
+		}
+		driversConfigured = true;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package org.ddf.configurations;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * This class keeps a bounded pool of warm browsers that are leased to tests instead of launching one per test.
+ * <p>
+ * When a browser is released, extra windows are closed, the cookies, local storage and session storage of the
+ * application's origin are cleared and the base URL is loaded again, so the next lease starts from the same state
+ * as a new browser. Browsers that fail this reset, fail the health check before a lease or reach the maximum
+ * number of uses are quit and their slot is freed for a new browser.
+ */
+public final class DriverPool {
+	private static final Logger log = LogManager.getLogger(DriverPool.class);
+	private static final long POLL_MILLIS = 500;
+	private static final String CLEAR_STORAGE_SCRIPT = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+	private final Supplier<WebDriver> factory;
+	private final int maxSize;
+	private final int maxReuse;
+	private final Semaphore slots;
+	private final BlockingQueue<PooledDriver> idle = new LinkedBlockingQueue<>();
+	private final Map<WebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	/**
+	 * Constructor for the DriverPool class.
+	 * @param factory The factory launching new browsers.
+	 * @param maxSize The maximum number of browsers alive at the same time.
+	 * @param maxReuse The number of leases after which a browser is replaced.
+	 */
+	public DriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse) {
+		if (maxSize < 1 || maxReuse < 1) {
+			throw new IllegalArgumentException("Pool size and reuse must be positive: " + maxSize + ", " + maxReuse);
+		}
+		this.factory = factory;
+		this.maxSize = maxSize;
+		this.maxReuse = maxReuse;
+		this.slots = new Semaphore(maxSize);
+	}
+
+	/**
+	 * Launch browsers in the background until the pool is full.
+	 */
+	public void prelaunch() {
+		for (int i = 0; i < maxSize && slots.tryAcquire(); i++) {
+			Thread launcher = new Thread(() -> {
+				try {
+					idle.offer(launch());
+				} catch (RuntimeException e) {
+					log.error("Failed to launch a browser", e);
+				}
+				if (closed) {
+					close();
+				}
+			}, "driver-prelaunch-" + i);
+			launcher.setDaemon(true);
+			launcher.start();
+		}
+	}
+
+	/**
+	 * Lease a healthy browser, launching one if the pool is not full or waiting for a release otherwise.
+	 * @return The leased WebDriver instance.
+	 * @throws IllegalStateException if the pool is closed or the thread is interrupted while waiting.
+	 * @throws org.openqa.selenium.WebDriverException if a new browser could not be launched.
+	 */
+	public WebDriver lease() {
+		while (!closed) {
+			PooledDriver pooled = idle.poll();
+			if (pooled == null && slots.tryAcquire()) {
+				pooled = launch();
+			}
+			if (pooled == null) {
+				try {
+					pooled = idle.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for a browser", e);
+				}
+			}
+			if (pooled == null) {
+				continue;
+			}
+			if (isHealthy(pooled)) {
+				pooled.uses++;
+				leased.put(pooled.driver, pooled);
+				return pooled.driver;
+			}
+			log.warn("Evicting unhealthy browser after {} uses", pooled.uses);
+			destroy(pooled);
+		}
+		throw new IllegalStateException("Driver pool is closed");
+	}
+
+	/**
+	 * Return a browser to the pool, or quit it if it was not leased from this pool.
+	 * @param driver The WebDriver instance to release.
+	 */
+	public void release(WebDriver driver) {
+		PooledDriver pooled = leased.remove(driver);
+		if (pooled == null) {
+			DriverFactory.quit(driver);
+			return;
+		}
+		if (closed || pooled.uses >= maxReuse) {
+			log.info("Retiring browser after {} uses", pooled.uses);
+			destroy(pooled);
+		} else if (reset(pooled.driver)) {
+			idle.offer(pooled);
+		} else {
+			log.warn("Evicting browser that could not be reset after {} uses", pooled.uses);
+			destroy(pooled);
+		}
+	}
+
+	/**
+	 * Quit the idle browsers and refuse further leases, leased browsers are quit when they are released.
+	 */
+	public void close() {
+		closed = true;
+		List<PooledDriver> drivers = new ArrayList<>();
+		idle.drainTo(drivers);
+		drivers.forEach(this::destroy);
+	}
+
+	private PooledDriver launch() {
+		try {
+			return new PooledDriver(factory.get());
+		} catch (RuntimeException e) {
+			slots.release();
+			throw e;
+		}
+	}
+
+	private void destroy(PooledDriver pooled) {
+		try {
+			DriverFactory.quit(pooled.driver);
+		} catch (WebDriverException e) {
+			log.warn("Failed to quit browser: {}", e.getMessage());
+		} finally {
+			slots.release();
+		}
+	}
+
+	private static boolean isHealthy(PooledDriver pooled) {
+		try {
+			return !pooled.driver.getWindowHandles().isEmpty() && pooled.driver.getCurrentUrl() != null;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static boolean reset(WebDriver driver) {
+		try {
+			// Keep only the first window, tests may have opened others
+			List<String> handles = new ArrayList<>(driver.getWindowHandles());
+			for (int i = 1; i < handles.size(); i++) {
+				driver.switchTo().window(handles.get(i)).close();
+			}
+			driver.switchTo().window(handles.get(0));
+
+			// Cookies and storage are scoped to the page origin, so clear them on the origin of the application
+			String baseUrl = configManager.getConfiguration().getBaseUrl();
+			if (!isSameOrigin(driver.getCurrentUrl(), baseUrl)) {
+				driver.get(baseUrl);
+			}
+			driver.manage().deleteAllCookies();
+			((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+			// Load the base URL again, so the page does not keep the state of the cleared session
+			driver.get(baseUrl);
+			DriverFactory.recordBaseUrlLoad(driver);
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	private static boolean isSameOrigin(String url, String otherUrl) {
+		try {
+			URI uri = URI.create(url);
+			URI other = URI.create(otherUrl);
+			return uri.getScheme() != null && uri.getScheme().equalsIgnoreCase(other.getScheme())
+					&& uri.getHost() != null && uri.getHost().equalsIgnoreCase(other.getHost())
+					&& port(uri) == port(other);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return false;
+		}
+	}
+
+	private static int port(URI uri) {
+		if (uri.getPort() != -1) {
+			return uri.getPort();
+		}
+		return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
+
+	/**
+	 * A pooled browser together with the number of times it was leased.
+	 */
+	private static final class PooledDriver {
+		private final WebDriver driver;
+		private int uses;
+
+		private PooledDriver(WebDriver driver) {
+			this.driver = driver;
+		}
+	}
+}
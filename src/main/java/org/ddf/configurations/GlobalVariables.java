@@ -8,8 +8,8 @@ import java.time.Duration;
  */
 public interface GlobalVariables {
 
-	// Base URL for the application
-	String BASE_URL = configManager.getProperty("url");
+	// Base URL for the application as loaded at startup
+	String BASE_URL = configManager.getConfiguration().getBaseUrl();
 
 	// User email and password
 	String EMAIL = configManager.getProperty("userEmail");
@@ -38,20 +38,23 @@ public interface GlobalVariables {
 
 	// File and folder paths
 	String CONFIG_FILE = "config.properties";
-	String DATA_FOLDER = new File(configManager.getProperty("dataPath")).getAbsolutePath() + File.separator;
-	String SCREENSHOT_FOLDER = new File("screenshots").getAbsolutePath() + File.separator;
-	String DOWNLOAD_FOLDER = new File("downloads").getAbsolutePath() + File.separator;
+	String DATA_FOLDER = configManager.getPath("dataPath") + File.separator;
+	String SCREENSHOT_FOLDER = configManager.getConfiguration().resolve("screenshots") + File.separator;
+	String SNAPSHOT_FOLDER = configManager.getPath("snapshotPath") + File.separator;
+	String SNAPSHOT_EXTENSION = ".snapshot";
+	String RUN_METRICS_FILE = configManager.getConfiguration().resolve("target/run-metrics.properties").getPath();
+	String DOWNLOAD_FOLDER = configManager.getConfiguration().resolve("downloads") + File.separator;
 	String IMAGE_TYPE = ".png";
 	String TEST_PACKAGE = "org.ddf.test.%s";
 
-	// Timeouts and waits
-	int TIME_OUT = Integer.parseInt(configManager.getProperty("explicitWait"));
-	Duration EXPLICIT_WAIT = Duration.ofSeconds(Long.parseLong(configManager.getProperty("explicitWait")));
-	Duration IMPLICIT_WAIT = Duration.ofSeconds(Long.parseLong(configManager.getProperty("implicitWait")));
-	int DOWNLOAD_WAIT = Integer.parseInt(configManager.getProperty("downloadTime"));
-	int MAX_TRY = configManager.getProperty("retry").equalsIgnoreCase("true") ? 1 : 0;
+	// Timeouts and waits as loaded at startup, read configManager.getConfiguration() for the values after a reload
+	int TIME_OUT = (int) configManager.getConfiguration().getExplicitWait().toSeconds();
+	Duration EXPLICIT_WAIT = configManager.getConfiguration().getExplicitWait();
+	Duration IMPLICIT_WAIT = configManager.getConfiguration().getImplicitWait();
+	int DOWNLOAD_WAIT = (int) configManager.getConfiguration().getDownloadWait().toSeconds();
+	int MAX_TRY = configManager.getConfiguration().getMaxTry();
 
 	// Report paths
-	String EXTENT_REPORT = configManager.getProperty("reportPath");
-	String EXTENT_CONFIG = configManager.getProperty("configPath");
+	String EXTENT_REPORT = configManager.getPath("reportPath").getPath();
+	String EXTENT_CONFIG = configManager.getPath("configPath").getPath();
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package org.ddf.configurations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * This class launches browsers ahead of time so that a test gets a ready browser instead of waiting for one to start.
+ * Every time a browser is taken, the launch of the next one starts in the background and overlaps with the test
+ * that is now running. Browsers are not reused: each one is quit by the test that took it.
+ */
+public final class PrefetchingDriverFactory {
+	private static final Logger log = LogManager.getLogger(PrefetchingDriverFactory.class);
+
+	private final Supplier<WebDriver> factory;
+	private final int depth;
+	private final ExecutorService launcher;
+	private final List<CompletableFuture<WebDriver>> launching = new ArrayList<>();
+	private boolean closed;
+
+	/**
+	 * Constructor for the PrefetchingDriverFactory class.
+	 * @param factory The factory launching new browsers.
+	 * @param depth The number of browsers to keep launching ahead.
+	 */
+	public PrefetchingDriverFactory(Supplier<WebDriver> factory, int depth) {
+		if (depth < 1) {
+			throw new IllegalArgumentException("Prefetch depth must be positive: " + depth);
+		}
+		this.factory = factory;
+		this.depth = depth;
+		this.launcher = Executors.newFixedThreadPool(depth, runnable -> {
+			Thread thread = new Thread(runnable, "driver-prefetch");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Take a browser launched ahead of time, or launch one now if none was started, and start launching the next.
+	 * Once the factory is closed, browsers are launched on demand.
+	 * @return The WebDriver instance, with the base URL open.
+	 */
+	public WebDriver take() {
+		CompletableFuture<WebDriver> next = poll();
+		if (next != null) {
+			try {
+				return next.join();
+			} catch (CompletionException e) {
+				log.warn("Prefetched browser failed to launch, launching a new one: {}", e.getCause().getMessage());
+			}
+		}
+		return factory.get();
+	}
+
+	/**
+	 * Stop launching browsers and quit the browsers launched ahead of time.
+	 */
+	public synchronized void close() {
+		closed = true;
+		launcher.shutdown();
+		launching.forEach(future -> future.thenAccept(DriverFactory::quit));
+		launching.clear();
+	}
+
+	private synchronized CompletableFuture<WebDriver> poll() {
+		if (closed) {
+			return null;
+		}
+		CompletableFuture<WebDriver> next = launching.isEmpty() ? null : launching.remove(0);
+		while (launching.size() < depth) {
+			launching.add(CompletableFuture.supplyAsync(factory, launcher));
+		}
+		return next;
+	}
+}
@@ -1,20 +1,61 @@
 package org.ddf.configurations;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.CodeSource;
+import java.time.Duration;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * This class manages configuration properties using a Properties file.
+ * The file is read once into an immutable {@link Configuration} snapshot. It is looked up from the
+ * {@code configFile} system property if set, otherwise in the root of the project the framework classes were built
+ * in (the project root for {@code target/classes}), and only as a last resort in the working directory.
+ * <p>
+ * With {@code watchConfig = true}, or after {@link #startWatching()}, a daemon thread watches the file and
+ * atomically replaces the snapshot when it changes, so a long-running process can pick up new waits, retry and URL
+ * values between suite runs. Each caller sees either the old or the new snapshot, never a mix of both.
  */
 public class configManager implements GlobalVariables {
-	private static final Properties properties = new Properties();
 	private static final Logger Log = LogManager.getLogger(configManager.class.getName());
+	private static final String PROJECT_FILE = "pom.xml";
+	private static final File configFile = locateConfigFile();
+	private static final long RELOAD_DELAY_MILLIS = 200;
+	private static volatile Configuration configuration = load(configFile);
+	private static WatchService watchService;
+
+	static {
+		if (Boolean.parseBoolean(configuration.getString("watchConfig", "false"))) {
+			startWatching();
+		}
+	}
+
+	private configManager() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Get the current configuration snapshot. Read the values you need from one snapshot to keep them consistent.
+	 * @return The configuration loaded from the Properties file.
+	 */
+	public static Configuration getConfiguration() {
+		return configuration;
+	}
 
 	/**
 	 * Retrieves a property value based on the provided key.
@@ -22,15 +63,191 @@ public class configManager implements GlobalVariables {
 	 * @return The value of the property.
 	 */
 	public static String getProperty(String key) {
+		return getConfiguration().getString(key);
+	}
+
+	/**
+	 * Retrieves a property value as an int.
+	 * @param key The key of the property to retrieve.
+	 * @return The value of the property.
+	 */
+	public static int getInt(String key) {
+		return getConfiguration().getInt(key);
+	}
+
+	/**
+	 * Retrieves a property value as a boolean.
+	 * @param key The key of the property to retrieve.
+	 * @return The value of the property.
+	 */
+	public static boolean getBoolean(String key) {
+		return getConfiguration().getBoolean(key);
+	}
+
+	/**
+	 * Retrieves a property value as a duration, plain numbers are seconds.
+	 * @param key The key of the property to retrieve.
+	 * @return The value of the property.
+	 */
+	public static Duration getDuration(String key) {
+		return getConfiguration().getDuration(key);
+	}
+
+	/**
+	 * Retrieves a property value as a path resolved against the folder of the Properties file.
+	 * @param key The key of the property to retrieve.
+	 * @return The absolute path.
+	 */
+	public static File getPath(String key) {
+		return getConfiguration().getPath(key);
+	}
+
+	/**
+	 * Start watching the Properties file, reloading the configuration when it changes.
+	 * Calling this method while the file is already watched has no effect.
+	 */
+	public static synchronized void startWatching() {
+		if (watchService != null) {
+			return;
+		}
 		try {
-			InputStream stream = new FileInputStream(CONFIG_FILE);
-			properties.load(stream);
-			stream.close();
+			WatchService service = FileSystems.getDefault().newWatchService();
+			configFile.getParentFile().toPath().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			watchService = service;
+			Thread watcher = new Thread(() -> watch(service), "config-watcher");
+			watcher.setDaemon(true);
+			watcher.start();
+			Log.info("Watching configuration for changes: {}", configFile);
+		} catch (IOException e) {
+			Log.error("Failed to watch configuration {}", configFile, e);
+		}
+	}
+
+	/**
+	 * Stop watching the Properties file, the current configuration stays in place.
+	 */
+	public static synchronized void stopWatching() {
+		if (watchService == null) {
+			return;
+		}
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			Log.error("There was a IO Exception: ", e);
+		}
+		watchService = null;
+	}
+
+	/**
+	 * Read the Properties file again and replace the configuration if it could be read.
+	 * @return The current configuration snapshot.
+	 */
+	public static Configuration reload() {
+		try {
+			configuration = read(configFile);
+			Log.info("Reloaded configuration: {}", configFile);
+		} catch (IOException | IllegalArgumentException e) {
+			Log.error("Keeping the previous configuration, failed to read {}", configFile, e);
+		}
+		return configuration;
+	}
+
+	private static void watch(WatchService service) {
+		Path fileName = configFile.toPath().getFileName();
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = containsFile(key, fileName);
+				// Editors often save in several steps, wait until the events settle before reading the file
+				while ((key = service.poll(RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					changed |= containsFile(key, fileName);
+				}
+				if (changed) {
+					reload();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			Log.info("Stopped watching configuration: {}", configFile);
+		}
+	}
+
+	private static boolean containsFile(WatchKey key, Path fileName) {
+		boolean found = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			found |= fileName.equals(event.context());
+		}
+		key.reset();
+		return found;
+	}
+
+	/**
+	 * Read the Properties file into a configuration snapshot.
+	 * @param configFile The Properties file.
+	 * @return The configuration snapshot, empty if the file could not be read.
+	 */
+	static Configuration load(File configFile) {
+		try {
+			Configuration loaded = read(configFile);
+			Log.info("Loaded configuration: {}", configFile);
+			return loaded;
 		} catch (FileNotFoundException e) {
 			Log.error("File was Not Found: {}", e.getMessage());
 		} catch (IOException e) {
 			Log.error("There was a IO Exception: ", e);
 		}
-		return properties.getProperty(key).trim();
+		return new Configuration(new Properties(), configFile.getAbsoluteFile().getParentFile());
+	}
+
+	private static Configuration read(File configFile) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream stream = new FileInputStream(configFile)) {
+			properties.load(stream);
+		}
+		return new Configuration(properties, configFile.getAbsoluteFile().getParentFile());
+	}
+
+	/**
+	 * Find the Properties file: the configFile system property, then the root of the project the classes were built
+	 * in (the nearest folder with a pom.xml), so the file does not depend on the working directory. Only when the
+	 * classes are not in a project, e.g. in a packaged jar, the working directory and its project root are used.
+	 * @return The Properties file, or the file in the working directory if it could not be found elsewhere.
+	 */
+	static File locateConfigFile() {
+		String configFile = System.getProperty("configFile");
+		if (configFile != null && !configFile.isBlank()) {
+			return new File(configFile.trim()).getAbsoluteFile();
+		}
+		File found = findInProjectRoot(getCodeLocation());
+		if (found != null) {
+			return found;
+		}
+		File workingDirectory = new File("").getAbsoluteFile();
+		File candidate = new File(workingDirectory, CONFIG_FILE);
+		if (candidate.isFile()) {
+			return candidate;
+		}
+		found = findInProjectRoot(workingDirectory);
+		return found != null ? found : candidate;
+	}
+
+	private static File findInProjectRoot(File folder) {
+		for (File current = folder; current != null; current = current.getParentFile()) {
+			if (new File(current, PROJECT_FILE).isFile()) {
+				File candidate = new File(current, CONFIG_FILE);
+				return candidate.isFile() ? candidate : null;
+			}
+		}
+		return null;
+	}
+
+	private static File getCodeLocation() {
+		try {
+			CodeSource source = configManager.class.getProtectionDomain().getCodeSource();
+			return source == null ? null : new File(source.getLocation().toURI()).getAbsoluteFile();
+		} catch (URISyntaxException | SecurityException e) {
+			return null;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -4,7 +4,7 @@ import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 import com.aventstack.extentreports.Status;
 import org.ddf.utils.ScreenshotUtil;
-import static org.ddf.configurations.GlobalVariables.MAX_TRY;
+import org.ddf.configurations.configManager;
 
 /**
  * This class implements the IRetryAnalyzer interface to handle retrying of failed tests.
@@ -13,8 +13,8 @@ public class Retry implements IRetryAnalyzer {
 	// Counter to keep track of the number of retries
 	private int count = 0;
 
-	// Maximum number of retries allowed, defined in the GlobalVariables class
-	private final int retryLimit = MAX_TRY;
+	// Maximum number of retries allowed, read from the configuration when the test starts
+	private final int retryLimit = configManager.getConfiguration().getMaxTry();
 
 	/**
 	 * This method is called by TestNG whenever a test fails.
@@ -31,6 +31,7 @@ public class TestListener implements ITestListener, GlobalVariables {
 
     @Override
     public void onFinish(ITestContext iTestContext) {
+        ReportManager.addRunSummary();
         ReportManager.endTest();
     }
 
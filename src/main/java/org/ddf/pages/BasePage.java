@@ -1,10 +1,20 @@
 package org.ddf.pages;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.ddf.configurations.GlobalVariables;
+import org.ddf.configurations.Configuration;
+import org.ddf.configurations.configManager;
+import org.ddf.utils.AdaptiveWait;
+import org.ddf.utils.NetworkIdleWaiter;
+import org.ddf.utils.XhrTracker;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -15,8 +25,63 @@ import org.openqa.selenium.support.ui.WebDriverWait;
  */
 public class BasePage implements GlobalVariables {
 
+	private static final String READY_STATE_SCRIPT = "return document.readyState === 'complete';";
+	// Finds the element of every read and returns its text, or null values while any element is missing.
+	// With the cache enabled, a MutationObserver versions the DOM so that reads cached at the current version are skipped.
+	private static final String READ_SCRIPT = "var reads = arguments[0], cachedVersion = arguments[1], w = window;"
+			+ " if (arguments[2] && !w.__ddfDom) {"
+			+ "   var dom = w.__ddfDom = { id: Math.random().toString(36).slice(2), changes: 0 };"
+			+ "   new MutationObserver(function () { dom.changes++; })"
+			+ "     .observe(document, { subtree: true, childList: true, characterData: true });"
+			+ " }"
+			+ " var version = arguments[2] && w.__ddfDom ? w.__ddfDom.id + ':' + w.__ddfDom.changes : null, values = {};"
+			+ " for (var key in reads) {"
+			+ "   var using = reads[key][0], value = reads[key][1], element = null;"
+			+ "   if (version !== null && version === cachedVersion && reads[key][2]) {"
+			+ "     continue;"
+			+ "   }"
+			+ "   if (using === 'xpath') {"
+			+ "     element = document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+			+ "   } else if (using === 'link text' || using === 'partial link text') {"
+			+ "     element = Array.prototype.find.call(document.getElementsByTagName('a'), function (link) {"
+			+ "       var text = link.innerText.trim();"
+			+ "       return using === 'link text' ? text === value : text.indexOf(value) >= 0;"
+			+ "     }) || null;"
+			+ "   } else if (using === 'tag name') {"
+			+ "     element = document.getElementsByTagName(value)[0] || null;"
+			+ "   } else if (using === 'class name') {"
+			+ "     element = document.getElementsByClassName(value)[0] || null;"
+			+ "   } else if (using === 'id') {"
+			+ "     element = document.getElementById(value);"
+			+ "   } else if (using === 'name') {"
+			+ "     element = document.getElementsByName(value)[0] || null;"
+			+ "   } else {"
+			+ "     element = document.querySelector(value);"
+			+ "   }"
+			+ "   if (element === null) {"
+			+ "     return { version: version, values: null };"
+			+ "   }"
+			+ "   values[key] = element.innerText.trim();"
+			+ " }"
+			+ " return { version: version, values: values };";
+	// Returns the text and URL of every link matched by a CSS selector or an XPath expression
+	private static final String READ_LINKS_SCRIPT = "var using = arguments[0], value = arguments[1], links = [];"
+			+ " if (using === 'xpath') {"
+			+ "   var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+			+ "   for (var i = 0; i < result.snapshotLength; i++) {"
+			+ "     links.push(result.snapshotItem(i));"
+			+ "   }"
+			+ " } else {"
+			+ "   links = Array.prototype.slice.call(document.querySelectorAll(value));"
+			+ " }"
+			+ " return links.map(function (link) { return [link.innerText.trim(), link.href || null]; });";
+
 	protected WebDriver driver;
 	protected WebDriverWait wait;
+	// Opt-in cache of element texts, valid while the DOM version of the page is unchanged
+	private final Map<String, String> readCache = new HashMap<>();
+	private String readCacheVersion;
+	private boolean readCacheEnabled;
 
 	/**
 	 * Constructor for the BasePage class.
@@ -24,10 +89,12 @@ public class BasePage implements GlobalVariables {
 	 */
 	public BasePage(WebDriver driver) {
 		this.driver = driver;
-		// Initialize WebDriver and WebDriverWait
-		wait = new WebDriverWait(driver, EXPLICIT_WAIT);
-		// Initialize page elements using AjaxElementLocatorFactory
-		PageFactory.initElements(new AjaxElementLocatorFactory(driver, TIME_OUT), this);
+		// Initialize WebDriver and WebDriverWait with the waits of the current configuration
+		Duration explicitWait = configManager.getConfiguration().getExplicitWait();
+		wait = new WebDriverWait(driver, explicitWait);
+		readCacheEnabled = configManager.getConfiguration().getBoolean("elementReadCache");
+		// Initialize page elements with Ajax locators, the field metadata is cached per page class
+		PageElementBinder.bind(driver, (int) explicitWait.toSeconds(), this);
 	}
 
 	/**
@@ -65,28 +132,6 @@ public class BasePage implements GlobalVariables {
 		wait.until(ExpectedConditions.invisibilityOf(element));
 	}
 
-	/**
-	 * Method to pause the execution for a specified number of seconds.
-	 * @param sec The number of seconds to pause.
-	 */
-	protected void pause(int sec) {
-		try {
-			Thread.sleep(sec * 1000L);
-		} catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-			throw new RuntimeException("Interrupted while pausing", e);
-		}
-	}
-
-	/**
-	 * Method to accept an alert dialog and pause for 2 seconds.
-	 */
-	public void acceptAlert() {
-		Alert alert = wait.until(ExpectedConditions.alertIsPresent());
-		alert.accept();
-		pause(2);
-	}
-
 	/**
 	 * Method to check if an element is not selected, then click it.
 	 * @param locator The locator to identify the element.
@@ -160,11 +205,19 @@ public class BasePage implements GlobalVariables {
 	}
 
 	/**
-	 * Method to wait for the page to load completely.
+	 * Method to wait for the page to load completely: the document is complete and the network is idle.
+	 * Network activity is tracked through DevTools when the browser has a {@link NetworkIdleWaiter}, otherwise
+	 * by checking that no jQuery or XHR request is running with the {@link XhrTracker}.
 	 */
 	public void waitForPageLoad() {
-		pause(1);
-		wait.until(driver -> ((JavascriptExecutor) driver).executeScript("return document.readyState").equals("complete"));
+		Configuration configuration = configManager.getConfiguration();
+		NetworkIdleWaiter network = NetworkIdleWaiter.of(driver);
+		if (network != null) {
+			Duration quietPeriod = configuration.getDuration("networkQuietPeriod");
+			AdaptiveWait.until("page load", configuration.getExplicitWait(), () -> network.isIdle(quietPeriod) && (Boolean) ((JavascriptExecutor) driver).executeScript(READY_STATE_SCRIPT));
+		} else {
+			AdaptiveWait.until("page load", configuration.getExplicitWait(), () -> XhrTracker.isIdle(driver));
+		}
 	}
 
 	/**
@@ -199,12 +252,112 @@ public class BasePage implements GlobalVariables {
 		new Actions(driver).moveToElement(element).click().build().perform();
 	}
 
+	/**
+	 * Method to enable or disable the read cache of this page. While it is enabled, texts read with {@link #readText}
+	 * and {@link #readTexts} are kept until the page navigates or its DOM changes, so repeated reads only cost a
+	 * version check that is made in the same script call as the other reads. The MutationObserver that versions the
+	 * DOM is only installed in the page while the cache is enabled.
+	 * The cache is enabled for new pages by the {@code elementReadCache} property.
+	 * @param enabled true to cache reads, false to always read from the page.
+	 */
+	public void setReadCacheEnabled(boolean enabled) {
+		readCacheEnabled = enabled;
+		readCache.clear();
+		readCacheVersion = null;
+	}
+
+	/**
+	 * Method to read the text of an element field of this page.
+	 * @param fieldName The name of the {@code @FindBy} field to read.
+	 * @return The trimmed text of the element.
+	 */
+	protected String readText(String fieldName) {
+		return readTexts(fieldName).get(fieldName);
+	}
+
+	/**
+	 * Method to read the texts of several element fields of this page with a single script call instead of one
+	 * {@code getText()} round trip per element. It waits like the page elements do until all of them are present.
+	 * @param fieldNames The names of the {@code @FindBy} fields to read.
+	 * @return The trimmed texts by field name, in the order of the field names.
+	 * @throws IllegalArgumentException if a field is unknown or its locator cannot be evaluated in the browser.
+	 */
+	protected Map<String, String> readTexts(String... fieldNames) {
+		Map<String, List<Object>> reads = new LinkedHashMap<>();
+		for (String fieldName : fieldNames) {
+			By locator = PageElementBinder.locatorOf(getClass(), fieldName);
+			if (!(locator instanceof By.Remotable)) {
+				throw new IllegalArgumentException("Locator cannot be read by script: " + locator);
+			}
+			By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+			boolean cached = readCacheEnabled && readCache.containsKey(fieldName);
+			reads.put(fieldName, Arrays.asList(parameters.using(), parameters.value(), cached));
+		}
+		Map<?, ?> result = AdaptiveWait.until("element reads", configManager.getConfiguration().getExplicitWait(), () -> {
+			Map<?, ?> response = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT, reads, readCacheVersion, readCacheEnabled);
+			return response.get("values") != null ? response : null;
+		});
+		Map<?, ?> values = (Map<?, ?>) result.get("values");
+		if (readCacheEnabled) {
+			String version = (String) result.get("version");
+			if (version == null || !version.equals(readCacheVersion)) {
+				// The page navigated or its DOM changed, the values read at the old version are stale
+				readCache.clear();
+				readCacheVersion = version;
+			}
+		}
+		Map<String, String> texts = new LinkedHashMap<>();
+		for (String fieldName : fieldNames) {
+			String text = values.containsKey(fieldName) ? (String) values.get(fieldName) : readCache.get(fieldName);
+			if (readCacheEnabled) {
+				readCache.put(fieldName, text);
+			}
+			texts.put(fieldName, text);
+		}
+		return texts;
+	}
+
+	/**
+	 * Method to read the URLs and texts of all links of a list field of this page with a single script call.
+	 * It waits like the page elements do until at least one link is present.
+	 * @param fieldName The name of the {@code @FindBy} list field to read, located by CSS selector or XPath.
+	 * @return The text by URL of every link, in page order; a URL that appears twice keeps its first text.
+	 * @throws IllegalArgumentException if the field is unknown or not located by CSS selector or XPath.
+	 * @throws TimeoutException if no link is found within the explicit wait.
+	 */
+	protected Map<String, String> readLinks(String fieldName) {
+		By locator = PageElementBinder.locatorOf(getClass(), fieldName);
+		By.Remotable.Parameters parameters = locator instanceof By.Remotable ? ((By.Remotable) locator).getRemoteParameters() : null;
+		if (parameters == null || !(parameters.using().equals("css selector") || parameters.using().equals("xpath"))) {
+			throw new IllegalArgumentException("Links cannot be read by script: " + locator);
+		}
+		List<?> links = AdaptiveWait.until("link reads", configManager.getConfiguration().getExplicitWait(), () -> {
+			List<?> found = (List<?>) ((JavascriptExecutor) driver).executeScript(READ_LINKS_SCRIPT, parameters.using(), parameters.value());
+			return found.isEmpty() ? null : found;
+		});
+		Map<String, String> texts = new LinkedHashMap<>();
+		for (Object link : links) {
+			List<?> textAndUrl = (List<?>) link;
+			texts.putIfAbsent((String) textAndUrl.get(1), (String) textAndUrl.get(0));
+		}
+		return texts;
+	}
+
 	/**
 	 * Method to get the order number from an element's text.
 	 * @param element The WebElement containing the order number.
 	 * @return The order number.
 	 */
 	protected String getOrderNumber(WebElement element) {
-		return element.getText().trim().replaceAll("[^0-9]", "");
+		return getOrderNumber(element.getText());
+	}
+
+	/**
+	 * Method to get the order number from a text.
+	 * @param text The text containing the order number.
+	 * @return The order number.
+	 */
+	protected String getOrderNumber(String text) {
+		return text.trim().replaceAll("[^0-9]", "");
 	}
 }
\ No newline at end of file
@@ -189,11 +189,11 @@ public class CheckoutPage extends BasePage {
 	}
 
 	/**
-	 * Continues to the payment information section.
+	 * Continues to the payment information section and waits until it has been loaded.
 	 */
 	public void continueToPaymentInfo() {
 		continuePaymentMethodButton.click();
-		pause(1);
+		waitForPageLoad();
 	}
 
 	/**
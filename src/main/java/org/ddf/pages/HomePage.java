@@ -1,6 +1,7 @@
 package org.ddf.pages;
 
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -58,28 +59,10 @@ public class HomePage extends BasePage {
 	}
 
 	/**
-	 * Method to get the number of footer links.
-	 * @return The number of footer links.
+	 * Method to get all footer links with a single browser call.
+	 * @return The text by URL of every footer link, in page order.
 	 */
-	public int getNumberOfFooterLinks() {
-		return footerLinks.size();
+	public Map<String, String> getFooterLinks() {
+		return readLinks("footerLinks");
 	}
-
-	/**
-	 * Method to get the text of a footer link by index.
-	 * @param index The index of the footer link.
-	 * @return The text of the footer link.
-	 */
-	public String getFooterLinkText(int index) {
-		return footerLinks.get(index).getText();
-	}
-
-	/**
-	 * Method to get the URL of a footer link by index.
-	 * @param index The index of the footer link.
-	 * @return The URL of the footer link.
-	 */
-	public String getFooterLink(int index) {
-		return footerLinks.get(index).getAttribute("href");
-	}
-}
\ No newline at end of file
+}
@@ -1,5 +1,8 @@
 package org.ddf.pages;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -10,6 +13,14 @@ import org.openqa.selenium.support.FindBy;
  */
 public class OrderDetailsPage extends BasePage {
 
+	// Keys of the order summary
+	public static final String ORDER_NUMBER = "orderNumber";
+	public static final String ORDER_STATUS = "orderStatus";
+	public static final String ORDER_TOTAL = "orderTotal";
+	public static final String CART_TOTAL = "cartTotal";
+	public static final String PAYMENT_METHOD = "paymentMethod";
+	public static final String QUANTITY = "quantity";
+
 	public OrderDetailsPage(WebDriver driver) {
 		super(driver);
 	}
@@ -66,7 +77,25 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The order number.
 	 */
 	public String getOrderNumber() {
-		return getOrderNumber(orderNumberTextbox);
+		return getOrderNumber(readText("orderNumberTextbox"));
+	}
+
+	/**
+	 * Method to get the order number, status, totals, payment method and quantity of the order details page with a
+	 * single browser call. Orders without shipping have no shipping method, so it is read by {@link #getShippingMethod}.
+	 * @return The texts by the keys of the order summary, e.g. {@link #ORDER_NUMBER}.
+	 */
+	public Map<String, String> getOrderSummary() {
+		Map<String, String> texts = readTexts("orderNumberTextbox", "orderDetailsStatusText", "orderTotalText", "cartOrderTotal",
+				"paymentMethodText", "quantityText");
+		Map<String, String> summary = new LinkedHashMap<>();
+		summary.put(ORDER_NUMBER, getOrderNumber(texts.get("orderNumberTextbox")));
+		summary.put(ORDER_STATUS, texts.get("orderDetailsStatusText"));
+		summary.put(ORDER_TOTAL, texts.get("orderTotalText"));
+		summary.put(CART_TOTAL, texts.get("cartOrderTotal"));
+		summary.put(PAYMENT_METHOD, texts.get("paymentMethodText"));
+		summary.put(QUANTITY, texts.get("quantityText"));
+		return summary;
 	}
 
 	/**
@@ -74,7 +103,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The payment method.
 	 */
 	public String getPaymentMethod() {
-		return paymentMethodText.getText().trim();
+		return readText("paymentMethodText");
 	}
 
 	/**
@@ -89,7 +118,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The shipping method.
 	 */
 	public String getShippingMethod() {
-		return shippingMethodText.getText();
+		return readText("shippingMethodText");
 	}
 
 	/**
@@ -97,7 +126,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The quantity.
 	 */
 	public String getQuantity() {
-		return quantityText.getText().trim();
+		return readText("quantityText");
 	}
 
 	/**
@@ -105,7 +134,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The order total.
 	 */
 	public String getOrderTotal() {
-		return orderTotalText.getText().trim();
+		return readText("orderTotalText");
 	}
 
 	/**
@@ -113,7 +142,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The cart total.
 	 */
 	public String getCartTotal() {
-		return cartOrderTotal.getText().trim();
+		return readText("cartOrderTotal");
 	}
 
 	/**
@@ -152,7 +181,7 @@ public class OrderDetailsPage extends BasePage {
 	 * @return The order details status.
 	 */
 	public String getOrderDetailsStatus() {
-		return orderDetailsStatusText.getText();
+		return readText("orderDetailsStatusText");
 	}
 
 	/**
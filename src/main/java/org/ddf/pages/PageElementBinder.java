@@ -0,0 +1,161 @@
+package org.ddf.pages;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+import org.openqa.selenium.support.pagefactory.AjaxElementLocator;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+/**
+ * This class binds the {@code @FindBy} fields of page objects to lazy element proxies, like
+ * {@code PageFactory.initElements} with an {@code AjaxElementLocatorFactory}, but does the reflection only once
+ * per page class.
+ * <p>
+ * The first page of a class records its element fields together with their locators; every page constructed after
+ * that only creates the locators and proxies and sets the fields. The proxy classes are created once as well.
+ */
+public final class PageElementBinder {
+	private static final ClassValue<List<ElementField>> FIELDS = new ClassValue<>() {
+		@Override
+		protected List<ElementField> computeValue(Class<?> pageClass) {
+			return findElementFields(pageClass);
+		}
+	};
+	private static final Constructor<?> ELEMENT_PROXY = proxyConstructor(WebElement.class, WrapsElement.class, Locatable.class);
+	private static final Constructor<?> LIST_PROXY = proxyConstructor(List.class);
+
+	private PageElementBinder() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Bind the element fields of a page object.
+	 * @param searchContext The context to find the elements in, usually the WebDriver.
+	 * @param timeOutInSeconds The time to wait for an element to appear when it is used.
+	 * @param page The page object whose fields are set.
+	 */
+	public static void bind(SearchContext searchContext, int timeOutInSeconds, Object page) {
+		for (ElementField elementField : FIELDS.get(page.getClass())) {
+			ElementLocator locator = new AjaxElementLocator(searchContext, timeOutInSeconds, elementField.annotations);
+			InvocationHandler handler = elementField.list ? new LocatingElementListHandler(locator) : new LocatingElementHandler(locator);
+			try {
+				elementField.field.set(page, (elementField.list ? LIST_PROXY : ELEMENT_PROXY).newInstance(handler));
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Failed to bind " + elementField.field, e);
+			}
+		}
+	}
+
+	/**
+	 * Get the locator of an element field of a page class.
+	 * @param pageClass The page class.
+	 * @param fieldName The name of the element field.
+	 * @return The locator built from the annotations of the field.
+	 * @throws IllegalArgumentException if the page class has no element field with this name.
+	 */
+	static By locatorOf(Class<?> pageClass, String fieldName) {
+		for (ElementField elementField : FIELDS.get(pageClass)) {
+			if (elementField.field.getName().equals(fieldName)) {
+				return elementField.annotations.buildBy();
+			}
+		}
+		throw new IllegalArgumentException("Element field was not found: " + pageClass.getSimpleName() + "." + fieldName);
+	}
+
+	/**
+	 * Find the fields of a page class and its super classes that PageFactory would decorate.
+	 * @param pageClass The page class.
+	 * @return The element fields with their locators.
+	 */
+	private static List<ElementField> findElementFields(Class<?> pageClass) {
+		List<ElementField> fields = new ArrayList<>();
+		for (Class<?> current = pageClass; current != null && current != Object.class; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+					continue;
+				}
+				boolean list = isElementList(field);
+				if (field.getType() == WebElement.class || list) {
+					field.setAccessible(true);
+					fields.add(new ElementField(field, list, new CachedAnnotations(field)));
+				}
+			}
+		}
+		return fields;
+	}
+
+	private static boolean isElementList(Field field) {
+		if (field.getType() != List.class || !(field.getGenericType() instanceof ParameterizedType)) {
+			return false;
+		}
+		Type elementType = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+		return elementType == WebElement.class && (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class) || field.isAnnotationPresent(FindAll.class));
+	}
+
+	private static Constructor<?> proxyConstructor(Class<?>... interfaces) {
+		try {
+			InvocationHandler unused = (proxy, method, args) -> null;
+			return Proxy.newProxyInstance(PageElementBinder.class.getClassLoader(), interfaces, unused).getClass().getConstructor(InvocationHandler.class);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("Failed to create the element proxy class", e);
+		}
+	}
+
+	/**
+	 * An element field of a page class with its locator.
+	 */
+	private static final class ElementField {
+		private final Field field;
+		private final boolean list;
+		private final AbstractAnnotations annotations;
+
+		private ElementField(Field field, boolean list, AbstractAnnotations annotations) {
+			this.field = field;
+			this.list = list;
+			this.annotations = annotations;
+		}
+	}
+
+	/**
+	 * The locator of a field, read from its annotations once.
+	 */
+	private static final class CachedAnnotations extends AbstractAnnotations {
+		private final By by;
+		private final boolean lookupCached;
+
+		private CachedAnnotations(Field field) {
+			Annotations annotations = new Annotations(field);
+			this.by = annotations.buildBy();
+			this.lookupCached = annotations.isLookupCached();
+		}
+
+		@Override
+		public By buildBy() {
+			return by;
+		}
+
+		@Override
+		public boolean isLookupCached() {
+			return lookupCached;
+		}
+	}
+}
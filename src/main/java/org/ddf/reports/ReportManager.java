@@ -7,6 +7,7 @@ import java.util.Map;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import org.ddf.configurations.DriverFactory;
 import org.ddf.configurations.GlobalVariables;
 import org.ddf.utils.Log;
 
@@ -32,6 +33,7 @@ public class ReportManager implements GlobalVariables {
 		extent.setSystemInfo("User: ", System.getProperty("user.name"));
 		extent.setSystemInfo("URL: ", BASE_URL);
 		extent.setSystemInfo("Browser: ", "Chrome");
+		extent.setSystemInfo("Browser profile: ", DriverFactory.getProfile());
 		extent.setSystemInfo("OS: ", System.getProperty("os.name"));
 		extent.setSystemInfo("Version: ", System.getProperty("os.version"));
 		extent.attachReporter(htmlReporter);
@@ -56,6 +58,16 @@ public class ReportManager implements GlobalVariables {
 		return extentTestMap.get((int) Thread.currentThread().getId());
 	}
 
+	/**
+	 * Add the timings collected during the run to the system information of the report.
+	 */
+	public static synchronized void addRunSummary() {
+		RunMetrics.summarize(DriverFactory.getProfile(), new File(RUN_METRICS_FILE)).forEach((metric, summary) -> {
+			getInstance().setSystemInfo(metric + ": ", summary);
+			Log.messageLog(metric + ": " + summary);
+		});
+	}
+
 	/**
 	 * End the current ExtentTest and flush the report.
 	 */
@@ -63,6 +75,15 @@ public class ReportManager implements GlobalVariables {
 		getInstance().flush();
 	}
 
+	/**
+	 * Create a new ExtentTest that is not associated with a thread, e.g. for checks made after the tests.
+	 * @param testName The name of the test.
+	 * @return The new ExtentTest.
+	 */
+	public static synchronized ExtentTest createTest(String testName) {
+		return getInstance().createTest(testName);
+	}
+
 	/**
 	 * Start a new ExtentTest with the given test name and associate it with the current thread.
 	 * @param testName The name of the test.
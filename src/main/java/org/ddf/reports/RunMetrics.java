@@ -0,0 +1,116 @@
+package org.ddf.reports;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class collects timings of the run, e.g. browser startup and loads of the base URL, for the run summary.
+ * <p>
+ * The averages of each run are kept per profile in a properties file, so that the summary of a run can show
+ * the difference with the last run of the other profiles.
+ */
+public class RunMetrics {
+	public static final String BROWSER_STARTUP = "Browser startup";
+	public static final String BASE_URL_LOAD = "Base URL load";
+
+	private static final Logger log = LogManager.getLogger(RunMetrics.class);
+	private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+	private RunMetrics() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Record a timing.
+	 * @param metric The name of the metric, e.g. "Browser startup".
+	 * @param duration The measured duration.
+	 */
+	public static void record(String metric, Duration duration) {
+		TIMERS.computeIfAbsent(metric, name -> new Timer()).add(duration.toNanos());
+	}
+
+	/**
+	 * Get the summary line of every metric recorded in this run and store the averages of the profile.
+	 * @param profile The name of the profile the run used.
+	 * @param historyFile The file keeping the averages of the last run of each profile.
+	 * @return The summary lines keyed by metric name, in name order.
+	 */
+	public static Map<String, String> summarize(String profile, File historyFile) {
+		Properties history = loadHistory(historyFile);
+		Map<String, String> summary = new TreeMap<>();
+		TIMERS.forEach((metric, timer) -> {
+			long average = timer.averageMillis();
+			StringBuilder line = new StringBuilder(String.format("avg %d ms, max %d ms over %d (%s profile)", average, timer.maxMillis(), timer.count.sum(), profile));
+			for (String key : history.stringPropertyNames()) {
+				String otherProfile = key.substring(0, key.indexOf('.'));
+				if (key.endsWith("." + metric) && !otherProfile.equals(profile)) {
+					long other = Long.parseLong(history.getProperty(key));
+					line.append(String.format("; %s profile last run avg %d ms, difference %+d ms", otherProfile, other, average - other));
+				}
+			}
+			summary.put(metric, line.toString());
+			history.setProperty(profile + "." + metric, String.valueOf(average));
+		});
+		saveHistory(historyFile, history);
+		return summary;
+	}
+
+	private static Properties loadHistory(File historyFile) {
+		Properties history = new Properties();
+		if (historyFile.isFile()) {
+			try (InputStream stream = new FileInputStream(historyFile)) {
+				history.load(stream);
+			} catch (IOException e) {
+				log.warn("Failed to read run metrics history {}: {}", historyFile, e.getMessage());
+			}
+		}
+		return history;
+	}
+
+	private static void saveHistory(File historyFile, Properties history) {
+		historyFile.getAbsoluteFile().getParentFile().mkdirs();
+		try (OutputStream stream = new FileOutputStream(historyFile)) {
+			history.store(stream, "Average timings of the last run per profile, in milliseconds");
+		} catch (IOException e) {
+			log.warn("Failed to write run metrics history {}: {}", historyFile, e.getMessage());
+		}
+	}
+
+	/**
+	 * Count, total and maximum of the timings of one metric.
+	 */
+	private static final class Timer {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		private void add(long nanos) {
+			count.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+
+		private long averageMillis() {
+			long samples = count.sum();
+			return samples == 0 ? 0 : Duration.ofNanos(totalNanos.sum() / samples).toMillis();
+		}
+
+		private long maxMillis() {
+			return Duration.ofNanos(maxNanos.get()).toMillis();
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.ddf.steps;
 
 import org.ddf.utils.Log;
+import org.ddf.utils.ShopClient;
 import org.openqa.selenium.WebDriver;
 import org.ddf.pages.CartPage;
 import static org.testng.Assert.assertEquals;
@@ -9,9 +10,21 @@ import static org.testng.Assert.assertTrue;
 public class CartPageSteps {
 
 	private final CartPage cartPage;
+	private final ShopClient shopClient;
 
 	public CartPageSteps(WebDriver driver) {
 		cartPage = new CartPage(driver);
+		shopClient = new ShopClient(driver);
+	}
+
+	/**
+	 * Empty the cart over HTTP with the session of the browser, for tests that do not verify the cart page itself.
+	 * The browser shows the new cart state after its next navigation.
+	 */
+	public void emptyCart() {
+		Log.info("Emptying the cart");
+		shopClient.emptyCart();
+		assertTrue(shopClient.getCartItemIds().isEmpty(), "Cart was not empty after removing all items");
 	}
 
 	/**
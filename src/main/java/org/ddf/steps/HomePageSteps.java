@@ -2,9 +2,9 @@ package org.ddf.steps;
 
 import static org.testng.Assert.assertTrue;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.Map;
+
+import org.ddf.utils.LinkChecker;
 import org.ddf.utils.Log;
 import org.openqa.selenium.WebDriver;
 import org.testng.asserts.SoftAssert;
@@ -53,46 +53,23 @@ public class HomePageSteps {
 
     /**
      * Method to validate the footer links on the home page.
+     * The links are read from the page at once and checked concurrently by {@link LinkChecker}.
      */
     public void validateFooterLinks() {
         Log.info("Validating footer links");
         SoftAssert softAssert = new SoftAssert();
-        for(int i=0; i<home.getNumberOfFooterLinks(); i++) {
-            String footerLink = home.getFooterLink(i);
-            String footerLinkText = home.getFooterLinkText(i);
-            if(isLinkBroken(footerLink)) {
-                Log.error("Broken link found: " + footerLinkText + "-" + footerLink);
+        Map<String, String> footerLinks = home.getFooterLinks();
+        Map<String, LinkChecker.LinkResult> results = LinkChecker.check(footerLinks.keySet());
+        footerLinks.forEach((footerLink, footerLinkText) -> {
+            LinkChecker.LinkResult result = results.get(footerLink);
+            if(result.isBroken()) {
+                Log.error("Broken link found: " + footerLinkText + "-" + result);
                 softAssert.fail(footerLinkText + " link - " + footerLink + " is broken");
             } else {
                 Log.info("Footer link validated successfully: " + footerLinkText + "-" + footerLink);
             }
-        }
+        });
         softAssert.assertAll();
     }
 
-    /**
-     * Method to check if a given URL is broken.
-     * @param url The URL to check.
-     * @return true if the link is broken, false otherwise.
-     */
-    private boolean isLinkBroken(String url) {
-        HttpURLConnection connection;
-        if(url != null){
-            try {
-                connection = (HttpURLConnection)(new URL(url).openConnection());
-                // Use HEAD request to check a link without downloading content
-                connection.setRequestMethod("HEAD");
-                connection.connect();
-                int respCode = connection.getResponseCode();
-
-                // Link is broken
-                return respCode < HttpURLConnection.HTTP_OK || respCode >= HttpURLConnection.HTTP_BAD_REQUEST; // The Link is not broken
-            } catch (IOException e) {
-                Log.error("Error checking link: "+ url + e);
-                return true;
-            }
-        }
-        return true; // Return true if URL is null
-    }
-
 }
\ No newline at end of file
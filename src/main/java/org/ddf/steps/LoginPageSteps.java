@@ -1,6 +1,10 @@
 package org.ddf.steps;
 
+import java.net.URI;
+
+import org.ddf.configurations.configManager;
 import org.ddf.utils.Log;
+import org.ddf.utils.LoginSessionCache;
 import org.openqa.selenium.WebDriver;
 import static org.testng.Assert.*;
 import org.ddf.pages.LoginPage;
@@ -10,6 +14,10 @@ import org.ddf.pages.LoginPage;
  */
 public class LoginPageSteps {
 
+	private static final String LOGIN_PATH = "login";
+	private static final String ACCOUNT_PATH = "customer/info";
+
+	private final WebDriver driver;
 	private final LoginPage loginPage;
 
 	/**
@@ -17,6 +25,7 @@ public class LoginPageSteps {
 	 * @param driver The WebDriver instance to be used for interacting with the login page.
 	 */
 	public LoginPageSteps(WebDriver driver) {
+		this.driver = driver;
 		this.loginPage = new LoginPage(driver);
 	}
 
@@ -32,4 +41,22 @@ public class LoginPageSteps {
 		loginPage.clickLoginButton();
 		assertTrue(loginPage.isUserEmailDisplayed(email), "User login failed");
 	}
+
+	/**
+	 * Method to log in by reusing the cached session of the user, logging in through the UI only if there is no
+	 * valid session yet. Use {@link #login(String, String)} in tests that verify the login itself.
+	 * @param email The email address of the user.
+	 * @param password The password of the user.
+	 */
+	public void loginWithSession(String email, String password) {
+		String baseUrl = configManager.getConfiguration().getBaseUrl();
+		if (LoginSessionCache.restore(driver, email, URI.create(baseUrl).resolve(ACCOUNT_PATH)) && loginPage.isUserEmailDisplayed(email)) {
+			Log.info("Restored the login session of " + email);
+			return;
+		}
+		LoginSessionCache.invalidate(email);
+		driver.get(URI.create(baseUrl).resolve(LOGIN_PATH).toString());
+		login(email, password);
+		LoginSessionCache.store(driver, email);
+	}
 }
\ No newline at end of file
@@ -6,6 +6,14 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.ddf.configurations.DriverFactory;
+import org.ddf.configurations.configManager;
+import org.ddf.utils.PDFInvoice;
+import org.ddf.utils.PDFInvoiceValidator;
 import org.ddf.utils.PDFUtil;
 import org.ddf.utils.Log;
 import org.openqa.selenium.WebDriver;
@@ -13,9 +21,11 @@ import org.ddf.pages.OrderDetailsPage;
 
 public class OrderPageSteps {
 
+    private final WebDriver driver;
     private final OrderDetailsPage orderDetailsPage;
 
     public OrderPageSteps(WebDriver driver) {
+        this.driver = driver;
         this.orderDetailsPage = new OrderDetailsPage(driver);
     }
 
@@ -29,15 +39,16 @@ public class OrderPageSteps {
      */
     public void verifyOrderDetails(String quantity, String shippingMethod, String paymentMethod, String orderNumber) {
         Log.info("Verifying order details...");
-        assertEquals(orderDetailsPage.getCartTotal(), orderDetailsPage.getOrderTotal(), "Order total on the Order Details page did not match");
-        assertEquals(orderDetailsPage.getQuantity(), quantity, "Ordered quantity did not match");
+        Map<String, String> summary = orderDetailsPage.getOrderSummary();
+        assertEquals(summary.get(OrderDetailsPage.CART_TOTAL), summary.get(OrderDetailsPage.ORDER_TOTAL), "Order total on the Order Details page did not match");
+        assertEquals(summary.get(OrderDetailsPage.QUANTITY), quantity, "Ordered quantity did not match");
 
         if (!shippingMethod.equalsIgnoreCase(NOT_APPLICABLE)) {
             assertTrue(orderDetailsPage.getShippingMethod().contains(shippingMethod), "Shipping method did not match");
         }
 
-        assertTrue(orderDetailsPage.getPaymentMethod().contains(paymentMethod), "Payment method did not match");
-        assertEquals(orderDetailsPage.getOrderNumber(), orderNumber, "Order number did not match");
+        assertTrue(summary.get(OrderDetailsPage.PAYMENT_METHOD).contains(paymentMethod), "Payment method did not match");
+        assertEquals(summary.get(OrderDetailsPage.ORDER_NUMBER), orderNumber, "Order number did not match");
         Log.info("Order details verified successfully.");
     }
 
@@ -52,9 +63,10 @@ public class OrderPageSteps {
         String orderTotal = orderDetailsPage.getMyOrderTotal();
         orderDetailsPage.clickOnOrderDetailsButton();
 
-        assertEquals(orderDetailsPage.getOrderDetailsStatus().toLowerCase(), orderStatus.toLowerCase(), "Order status did not match");
-        assertEquals(orderDetailsPage.getOrderNumber(), orderNumber, "Order number did not match");
-        assertTrue(orderTotal.contains(orderDetailsPage.getOrderTotal()), "Order total did not match");
+        Map<String, String> summary = orderDetailsPage.getOrderSummary();
+        assertEquals(summary.get(OrderDetailsPage.ORDER_STATUS).toLowerCase(), orderStatus.toLowerCase(), "Order status did not match");
+        assertEquals(summary.get(OrderDetailsPage.ORDER_NUMBER), orderNumber, "Order number did not match");
+        assertTrue(orderTotal.contains(summary.get(OrderDetailsPage.ORDER_TOTAL)), "Order total did not match");
         Log.info("Navigated to Order Details from My Orders successfully.");
     }
 
@@ -72,19 +84,30 @@ public class OrderPageSteps {
 
     /**
      * Validate the PDF invoice generated for the order.
+     * With offline PDF validation enabled, the download is waited for before the browser is released, and the invoice
+     * is only queued and validated by {@link PDFInvoiceValidator} after the UI tests.
      *
      * @throws Exception If there is an issue reading the PDF content.
      */
     public void validatePDFInvoice() throws Exception {
-        Log.info("Validating PDF invoice...");
-        String orderNumber = orderDetailsPage.getOrderNumber();
+        Map<String, String> summary = orderDetailsPage.getOrderSummary();
+        String orderNumber = summary.get(OrderDetailsPage.ORDER_NUMBER);
+        String fileName = String.format(FILE_NAME, orderNumber);
         orderDetailsPage.clickPDFInvoiceButton();
-        String pdfContent = PDFUtil.read(String.format(FILE_NAME, orderNumber));
+        if (configManager.getConfiguration().getBoolean("offlinePdfValidation")) {
+            Log.info("Queueing PDF invoice for validation...");
+            // Quitting the browser stops its download, only the parsing is left for later
+            File pdfFile = PDFUtil.waitUntilDownloadCompleted(DriverFactory.getDownloadFolder(driver), fileName);
+            PDFInvoiceValidator.enqueue(pdfFile, orderNumber, summary.get(OrderDetailsPage.CART_TOTAL),
+                    summary.get(OrderDetailsPage.QUANTITY), summary.get(OrderDetailsPage.PAYMENT_METHOD));
+            return;
+        }
+        Log.info("Validating PDF invoice...");
+        String pdfContent = PDFUtil.read(fileName);
         assertNotNull(pdfContent, "Did not get PDF content");
-        assertTrue(pdfContent.contains(orderDetailsPage.getCartTotal()), "Order total on the PDF invoice did not match");
-        assertTrue(pdfContent.contains(orderDetailsPage.getQuantity()), "Ordered quantity did not match");
-        assertTrue(pdfContent.contains(orderDetailsPage.getPaymentMethod()), "Payment method did not match");
-        assertTrue(pdfContent.contains(orderNumber), "Order number did not match");
+        List<String> failures = PDFInvoiceValidator.verify(PDFInvoice.parse(pdfContent), orderNumber, summary.get(OrderDetailsPage.CART_TOTAL),
+                summary.get(OrderDetailsPage.QUANTITY), summary.get(OrderDetailsPage.PAYMENT_METHOD));
+        assertTrue(failures.isEmpty(), String.join("; ", failures));
         Log.info("PDF invoice validated successfully.");
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package org.ddf.utils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.ddf.reports.RunMetrics;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * This class waits for a condition with an adaptive polling interval: it starts polling every
+ * {@value #FIRST_POLL_MILLIS} ms and doubles the interval up to {@value #MAX_POLL_MILLIS} ms, so that
+ * short waits return almost immediately while long waits do not flood the browser with checks.
+ * <p>
+ * The time every wait actually spent is recorded in {@link RunMetrics} under "Wait: " followed by its name.
+ */
+public final class AdaptiveWait {
+	private static final long FIRST_POLL_MILLIS = 25;
+	private static final long MAX_POLL_MILLIS = 500;
+
+	private AdaptiveWait() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Wait until the condition returns a value other than null or false.
+	 * WebDriver errors while polling, e.g. scripts running while the page unloads, are treated as not ready yet.
+	 * @param name The name of the wait, used in the metrics and the timeout message.
+	 * @param timeout The maximum time to wait.
+	 * @param condition The condition to poll.
+	 * @param <T> The type of the value returned by the condition.
+	 * @return The value returned by the condition.
+	 * @throws TimeoutException if the condition is not met within the timeout.
+	 */
+	public static <T> T until(String name, Duration timeout, Supplier<T> condition) {
+		long start = System.nanoTime();
+		long deadline = start + timeout.toNanos();
+		long poll = FIRST_POLL_MILLIS;
+		WebDriverException lastError = null;
+		try {
+			while (true) {
+				try {
+					T value = condition.get();
+					if (value != null && !Boolean.FALSE.equals(value)) {
+						return value;
+					}
+				} catch (NoSuchSessionException e) {
+					throw e;
+				} catch (WebDriverException e) {
+					lastError = e;
+				}
+				long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+				if (remainingMillis <= 0) {
+					throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for " + name, lastError);
+				}
+				Thread.sleep(Math.min(poll, remainingMillis));
+				poll = Math.min(poll * 2, MAX_POLL_MILLIS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for " + name, e);
+		} finally {
+			RunMetrics.record("Wait: " + name, Duration.ofNanos(System.nanoTime() - start));
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package org.ddf.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads test data from comma separated files, one file per sheet.
+ * The first record of each file holds the column headers. Fields may be quoted with double quotes,
+ * in which case they can contain commas, line breaks and doubled quotes ("").
+ */
+public class CsvDataSource extends FileDataSource {
+
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+	/**
+	 * Constructor for the CsvDataSource class.
+	 * @param dataPath The path of the test data, e.g. {@code data/TestData.csv}.
+	 */
+	public CsvDataSource(String dataPath) {
+		super(dataPath);
+	}
+
+	@Override
+	protected boolean isQuotedMultiline() {
+		return true;
+	}
+
+	@Override
+	protected boolean hasHeaderRecord() {
+		return true;
+	}
+
+	@Override
+	protected List<String> parseHeader(String record) {
+		return parse(!record.isEmpty() && record.charAt(0) == BYTE_ORDER_MARK ? record.substring(1) : record);
+	}
+
+	@Override
+	protected String[] parseRecord(String record, List<String> headers) {
+		return parse(record).toArray(new String[0]);
+	}
+
+	/**
+	 * Split a CSV record into its fields.
+	 * @param record The record to split.
+	 * @return The unquoted fields of the record.
+	 */
+	static List<String> parse(String record) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean inQuotes = false;
+		for (int i = 0; i < record.length(); i++) {
+			char value = record.charAt(i);
+			if (inQuotes) {
+				if (value == QUOTE && i + 1 < record.length() && record.charAt(i + 1) == QUOTE) {
+					field.append(QUOTE);
+					i++;
+				} else if (value == QUOTE) {
+					inQuotes = false;
+				} else {
+					field.append(value);
+				}
+			} else if (value == QUOTE) {
+				inQuotes = true;
+			} else if (value == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(value);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
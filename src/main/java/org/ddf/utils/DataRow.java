@@ -0,0 +1,81 @@
+package org.ddf.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class is a read-only row of test data exposed as a map keyed by column header.
+ * The values are kept in a plain array indexed by column number and the headers come from the shared
+ * {@link RowSchema}, so a row costs one small object on top of its values.
+ */
+public final class DataRow extends AbstractMap<String, String> {
+
+	private final RowSchema schema;
+	private final String[] cells;
+
+	DataRow(RowSchema schema, String[] cells) {
+		this.schema = schema;
+		this.cells = cells;
+	}
+
+	@Override
+	public String get(Object key) {
+		int column = schema.getColumn(key);
+		return column < 0 || column >= cells.length ? null : cells[column];
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int column = schema.getColumn(key);
+		return column >= 0 && column < cells.length;
+	}
+
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator() {
+				return new Iterator<>() {
+					private int position = next(0);
+
+					private int next(int from) {
+						while (from < schema.size() && schema.getColumn(from) >= cells.length) {
+							from++;
+						}
+						return from;
+					}
+
+					@Override
+					public boolean hasNext() {
+						return position < schema.size();
+					}
+
+					@Override
+					public Map.Entry<String, String> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						Map.Entry<String, String> entry = new SimpleImmutableEntry<>(schema.getHeader(position), cells[schema.getColumn(position)]);
+						position = next(position + 1);
+						return entry;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				int size = 0;
+				for (int i = 0; i < schema.size(); i++) {
+					if (schema.getColumn(i) < cells.length) {
+						size++;
+					}
+				}
+				return size;
+			}
+		};
+	}
+}
@@ -5,6 +5,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
@@ -52,6 +55,28 @@ public class DirectoryUtil {
 		}
 	}
 
+	/**
+	 * Delete all files within a directory and its subdirectories, keeping the subdirectories, e.g. folders that a
+	 * running browser downloads into.
+	 * @param folderPath The path of the directory to clear.
+	 */
+	public void deleteFiles(String folderPath) {
+		Path folder = Paths.get(folderPath);
+		if (!Files.isDirectory(folder)) {
+			log.info("Directory does not exist: {}", folderPath);
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(folder)) {
+			List<Path> files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+			log.info("All files within the directory were deleted: {}", folderPath);
+		} catch (IOException exp) {
+			log.error("Failed to delete files within the directory: {}", folderPath, exp);
+		}
+	}
+
 	/**
 	 * Clear the content of a folder by deleting and recreating it.
 	 * @param folderPath The path of the folder to clear.
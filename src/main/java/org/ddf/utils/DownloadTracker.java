@@ -0,0 +1,192 @@
+package org.ddf.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class tracks the files downloaded into a folder with a {@link WatchService}, so that a test can wait for a
+ * download without polling the file system.
+ * <p>
+ * Chrome writes a download to a {@code .crdownload} file and renames it when it is done. An expected download is
+ * complete once the file with its final name exists, no partial file is left, and its size has not changed for
+ * {@value #STABLE_MILLIS} ms.
+ * <p>
+ * There is one tracker per folder, every tracker holds a watch service and a thread. When the folder is deleted, the
+ * tracker creates it again and keeps watching it, so a tracker handed out by {@link #of} never stops tracking while
+ * it is in use. The tracker of a browser's download folder is closed by {@link #stopWatching} when the browser quits.
+ */
+public final class DownloadTracker implements Closeable {
+	private static final Logger log = LogManager.getLogger(DownloadTracker.class);
+	private static final Map<Path, DownloadTracker> TRACKERS = new ConcurrentHashMap<>();
+	private static final String PARTIAL_SUFFIX = ".crdownload";
+	private static final long STABLE_MILLIS = 100;
+	private static final ScheduledExecutorService CHECKER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "download-checker");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Path folder;
+	private final WatchService watchService;
+	private final Map<String, CompletableFuture<File>> expected = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	private DownloadTracker(Path folder) throws IOException {
+		this.folder = folder;
+		this.watchService = FileSystems.getDefault().newWatchService();
+		try {
+			register();
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+		Thread watcher = new Thread(this::watch, "download-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/**
+	 * Get the tracker of a download folder, it is started on first use.
+	 * @param folder The download folder.
+	 * @return The tracker of the folder.
+	 */
+	public static DownloadTracker of(String folder) {
+		return TRACKERS.computeIfAbsent(pathOf(folder), path -> {
+			try {
+				return new DownloadTracker(path);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to watch the download folder " + path, e);
+			}
+		});
+	}
+
+	/**
+	 * Close the tracker of a download folder, if the folder is tracked.
+	 * @param folder The download folder.
+	 */
+	public static void stopWatching(String folder) {
+		DownloadTracker tracker = TRACKERS.get(pathOf(folder));
+		if (tracker != null) {
+			tracker.close();
+		}
+	}
+
+	private static Path pathOf(String folder) {
+		return new File(folder).getAbsoluteFile().toPath().normalize();
+	}
+
+	/**
+	 * Expect a download. The file may already have been downloaded.
+	 * @param fileName The final name of the downloaded file.
+	 * @return The future downloaded file, completed once the download is complete.
+	 */
+	public CompletableFuture<File> expect(String fileName) {
+		CompletableFuture<File> download = expected.computeIfAbsent(fileName, name -> new CompletableFuture<>());
+		download.whenComplete((file, error) -> expected.remove(fileName, download));
+		if (closed) {
+			download.completeExceptionally(new IllegalStateException("Download tracker was closed: " + folder));
+		}
+		check(fileName, -1);
+		return download;
+	}
+
+	/**
+	 * Stop watching the folder. Expected downloads that are not complete yet fail.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		TRACKERS.remove(folder, this);
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			log.warn("Failed to close the watch service of {}", folder, e);
+		}
+		expected.values().forEach(download -> download.completeExceptionally(new IllegalStateException("Download tracker was closed: " + folder)));
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						expected.keySet().forEach(fileName -> check(fileName, -1));
+						continue;
+					}
+					String fileName = event.context().toString();
+					if (fileName.endsWith(PARTIAL_SUFFIX)) {
+						fileName = fileName.substring(0, fileName.length() - PARTIAL_SUFFIX.length());
+					}
+					if (expected.containsKey(fileName)) {
+						check(fileName, -1);
+					}
+				}
+				if (!key.reset()) {
+					log.warn("Download folder was deleted, watching it again: {}", folder);
+					register();
+					expected.keySet().forEach(fileName -> check(fileName, -1));
+				}
+			}
+		} catch (IOException e) {
+			log.error("Download folder can no longer be watched: {}", folder, e);
+			close();
+		} catch (ClosedWatchServiceException e) {
+			// The tracker was closed
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Create the folder if it does not exist and watch it.
+	 * @throws IOException if the folder cannot be created or watched.
+	 */
+	private void register() throws IOException {
+		Files.createDirectories(folder);
+		folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+				StandardWatchEventKinds.ENTRY_DELETE);
+	}
+
+	/**
+	 * Check whether an expected download is complete, and check it again after the stable period while its size is
+	 * not stable yet.
+	 * @param fileName The final name of the downloaded file.
+	 * @param previousSize The size at the previous check, -1 for the first check.
+	 */
+	private void check(String fileName, long previousSize) {
+		CompletableFuture<File> download = expected.get(fileName);
+		if (download == null || download.isDone()) {
+			return;
+		}
+		File file = folder.resolve(fileName).toFile();
+		if (!file.isFile() || folder.resolve(fileName + PARTIAL_SUFFIX).toFile().exists()) {
+			return;
+		}
+		long size = file.length();
+		if (size > 0 && size == previousSize) {
+			download.complete(file);
+		} else {
+			CHECKER.schedule(() -> check(fileName, size), STABLE_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+}
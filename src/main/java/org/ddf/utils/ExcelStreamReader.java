@@ -0,0 +1,142 @@
+package org.ddf.utils;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * This class reads Excel sheets row by row using the POI event (SAX) API,
+ * so only the row being handled is held in memory. It feeds the {@link SnapshotCompiler}, which reads the whole
+ * workbook in a single pass.
+ */
+public class ExcelStreamReader {
+
+	private static final Logger log = LogManager.getLogger(ExcelStreamReader.class);
+
+	private final String workbookPath;
+
+	/**
+	 * Callback invoked for every physical row of a sheet.
+	 */
+	public interface RowHandler {
+		/**
+		 * Handle a single row.
+		 * @param rowNumb The zero based row number.
+		 * @param cells The cell values of the row, empty cells are returned as "".
+		 * @return true to continue reading, false to stop reading the sheet.
+		 */
+		boolean handleRow(int rowNumb, List<String> cells);
+	}
+
+	/**
+	 * Callback invoked when a new sheet is reached while streaming the whole workbook.
+	 */
+	public interface SheetHandler {
+		/**
+		 * Start reading a sheet.
+		 * @param sheetName The name of the sheet.
+		 * @return The handler receiving the rows of the sheet.
+		 */
+		RowHandler startSheet(String sheetName);
+	}
+
+	/**
+	 * Constructor for the ExcelStreamReader class.
+	 * @param workbookPath The path of the Excel file.
+	 */
+	public ExcelStreamReader(String workbookPath) {
+		this.workbookPath = workbookPath;
+	}
+
+	/**
+	 * Stream the rows of every sheet in the workbook, opening the file only once.
+	 * @param handler The handler receiving each sheet.
+	 * @return true if the workbook was read, false otherwise.
+	 */
+	public boolean readWorkbook(SheetHandler handler) {
+		try (OPCPackage excelPackage = OPCPackage.open(workbookPath, PackageAccess.READ)) {
+			XSSFReader reader = new XSSFReader(excelPackage);
+			ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(excelPackage);
+			StylesTable styles = reader.getStylesTable();
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (sheets.hasNext()) {
+				try (InputStream sheetStream = sheets.next()) {
+					RowHandler rowHandler = handler.startSheet(sheets.getSheetName());
+					parseSheet(sheetStream, new XSSFSheetXMLHandler(styles, null, sharedStrings, new RowCollector(rowHandler), new DataFormatter(), false));
+				}
+			}
+			return true;
+		} catch (Exception exp) {
+			log.error("Exception occurred while streaming workbook {}", workbookPath, exp);
+		}
+		return false;
+	}
+
+	private void parseSheet(InputStream sheetStream, XSSFSheetXMLHandler sheetHandler) throws Exception {
+		XMLReader parser = XMLHelper.newXMLReader();
+		parser.setContentHandler(sheetHandler);
+		try {
+			parser.parse(new InputSource(sheetStream));
+		} catch (StopReadingException ignored) {
+			// The handler asked to stop, the rest of the sheet is skipped
+		}
+	}
+
+	/**
+	 * Collects the cells of the current row and hands the row over once it ends.
+	 */
+	private static class RowCollector implements SheetContentsHandler {
+		private final RowHandler handler;
+		private final List<String> cells = new ArrayList<>();
+
+		RowCollector(RowHandler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			cells.clear();
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			if (!handler.handleRow(rowNum, new ArrayList<>(cells))) {
+				throw new StopReadingException();
+			}
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+			while (cells.size() < column) {
+				cells.add("");
+			}
+			cells.add(formattedValue == null ? "" : formattedValue);
+		}
+	}
+
+	/**
+	 * Thrown from the row callback to abort SAX parsing early.
+	 */
+	private static class StopReadingException extends RuntimeException {
+		StopReadingException() {
+			super(null, null, false, false);
+		}
+	}
+}
@@ -1,39 +1,25 @@
 package org.ddf.utils;
 
-import java.io.FileInputStream;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import org.ddf.configurations.GlobalVariables;
 
 /**
  * This class provides utility methods for reading data from Excel files.
+ * It reads through the shared {@link TestDataSources} source of the file, i.e. the compiled workbook snapshot, so the
+ * accessors need no locking and can be called from parallel test threads.
  */
 public class ExcelUtil implements GlobalVariables {
 
-	private XSSFWorkbook excelWorkbook;
-	private static final Logger log = LogManager.getLogger(ExcelUtil.class);
+	private volatile TestDataSource source;
 
 	/**
 	 * Set the Excel file to work with.
 	 * @param sheetPath The path of the Excel file.
 	 */
-	public synchronized void setExcelFile(String sheetPath) {
-		try {
-			FileInputStream excelFile = new FileInputStream(sheetPath);
-			excelWorkbook = new XSSFWorkbook(excelFile);
-		} catch (Exception exp) {
-			log.info("Exception occurred in setExcelFile: {}", sheetPath, exp);
-		}
+	public void setExcelFile(String sheetPath) {
+		source = TestDataSources.open(sheetPath);
 	}
 
 	/**
@@ -41,9 +27,8 @@ public class ExcelUtil implements GlobalVariables {
 	 * @param sheetName The name of the sheet.
 	 * @return The number of rows in the sheet.
 	 */
-	public synchronized int getNumberOfRows(String sheetName) {
-		XSSFSheet excelSheet = excelWorkbook.getSheet(sheetName);
-		return excelSheet.getPhysicalNumberOfRows();
+	public int getNumberOfRows(String sheetName) {
+		return getSource().getNumberOfRows(sheetName);
 	}
 
 	/**
@@ -53,17 +38,8 @@ public class ExcelUtil implements GlobalVariables {
 	 * @param sheetName The name of the sheet.
 	 * @return The data in the cell as a string.
 	 */
-	public synchronized String getCellData(int rowNumb, int colNumb, String sheetName) {
-		try {
-			XSSFSheet excelSheet = excelWorkbook.getSheet(sheetName);
-			XSSFCell cell = excelSheet.getRow(rowNumb).getCell(colNumb);
-			if (cell.getCellType() == CellType.NUMERIC) {
-				cell.setCellType(CellType.STRING);
-			}
-			return cell.getStringCellValue();
-		} catch (Exception exp) {
-			return "";
-		}
+	public String getCellData(int rowNumb, int colNumb, String sheetName) {
+		return getSource().getCellData(rowNumb, colNumb, sheetName);
 	}
 
 	/**
@@ -73,50 +49,26 @@ public class ExcelUtil implements GlobalVariables {
 	 * @param testCaseColumn The column number for the test case.
 	 * @return A list of test scenarios to run.
 	 */
-	public synchronized List<String> getScenariosToRun(String sheetName, int runModeColumn, int testCaseColumn) {
-		List<String> testList = new ArrayList<>();
-		try {
-			int rowCount = getNumberOfRows(sheetName);
-			String testCase;
-			for (int i = 1; i < rowCount; i++) {
-				testCase = getTestScenario(i, runModeColumn, testCaseColumn, sheetName);
-				if (testCase != null) {
-					testList.add(testCase);
-				}
-			}
-		} catch (Exception e) {
-			log.error("Exception Occurred while adding data to List:\n", e);
-		}
-		return testList;
-	}
-
-	private String getTestScenario(int row, int runModeColumn, int testCaseColumn, String sheetName) {
-		String testCaseName = null;
-		try {
-			if (getCellData(row, runModeColumn, sheetName).equalsIgnoreCase(RUN_MODE_YES)) {
-				testCaseName = getCellData(row, testCaseColumn, sheetName).trim();
-				log.debug("Test Case to Run: {}", testCaseName);
-			}
-		} catch (Exception exp) {
-			log.error("Exception occurred in getTestCaseRow: ", exp);
-		}
-		return testCaseName;
+	public List<String> getScenariosToRun(String sheetName, int runModeColumn, int testCaseColumn) {
+		return getSource().getScenariosToRun(sheetName, runModeColumn, testCaseColumn);
 	}
 
 	/**
 	 * Get data from a specific row in a sheet as a map.
 	 * @param sheetName The name of the sheet.
 	 * @param row The row number.
-	 * @return A map of data with column headers as keys.
+	 * @return A read-only map of data with column headers as keys.
 	 */
 	public Map<String, String> getData(String sheetName, int row) {
-		Map<String, String> dataMap = new HashMap<>();
-		XSSFSheet excelSheet = excelWorkbook.getSheet(sheetName);
-		short lastColumn = excelSheet.getRow(row).getLastCellNum();
-		for (int i = 0; i < lastColumn; i++) {
-			dataMap.put(getCellData(0, i, sheetName), getCellData(row, i, sheetName));
+		return getSource().getData(sheetName, row);
+	}
+
+	private TestDataSource getSource() {
+		TestDataSource current = source;
+		if (current == null) {
+			throw new IllegalStateException("No Excel file was set");
 		}
-		return dataMap;
+		return current;
 	}
 
 	/**
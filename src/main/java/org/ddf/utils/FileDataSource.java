@@ -0,0 +1,268 @@
+package org.ddf.utils;
+
+import static org.ddf.configurations.GlobalVariables.RUN_MODE_YES;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * This class is the base for line oriented test data formats where every sheet is a separate file.
+ * For a data path {@code data/TestData.csv} the sheet {@code Regression} is read from {@code data/TestData.Regression.csv}.
+ * <p>
+ * Each sheet file is read once and scanned to record where its records start and end; rows are then parsed on
+ * demand from the bytes of that read, so every row is parsed from the same version of the file as the index.
+ * The index is rebuilt when the sheet file is modified, iterators keep reading the index they were created on.
+ */
+public abstract class FileDataSource implements TestDataSource {
+
+	private static final Logger log = LogManager.getLogger(FileDataSource.class);
+
+	private final Path folder;
+	private final String baseName;
+	private final String extension;
+	private final Map<String, SheetIndex> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for the FileDataSource class.
+	 * @param dataPath The path of the test data, its file name without extension prefixes every sheet file.
+	 */
+	protected FileDataSource(String dataPath) {
+		Path path = Paths.get(dataPath).toAbsolutePath();
+		String fileName = path.getFileName().toString();
+		int dot = fileName.lastIndexOf('.');
+		this.folder = path.getParent();
+		this.baseName = dot < 0 ? fileName : fileName.substring(0, dot);
+		this.extension = dot < 0 ? "" : fileName.substring(dot);
+	}
+
+	/**
+	 * Check whether a double quote starts a section in which line breaks do not end the record.
+	 * @return true if records may span several lines inside quotes, false if every line is a record.
+	 */
+	protected abstract boolean isQuotedMultiline();
+
+	/**
+	 * Check whether the first record of a sheet file holds the column headers.
+	 * @return true if the first record is the header, false if the headers are derived from the first data record.
+	 */
+	protected abstract boolean hasHeaderRecord();
+
+	/**
+	 * Get the column headers from the first record of a sheet file.
+	 * @param record The first record.
+	 * @return The column headers.
+	 */
+	protected abstract List<String> parseHeader(String record);
+
+	/**
+	 * Parse a data record into cells indexed by column number.
+	 * @param record The record to parse.
+	 * @param headers The column headers of the sheet.
+	 * @return The cells of the record.
+	 */
+	protected abstract String[] parseRecord(String record, List<String> headers);
+
+	/**
+	 * Get the file holding a sheet.
+	 * @param sheetName The name of the sheet.
+	 * @return The path of the sheet file.
+	 */
+	public Path getSheetPath(String sheetName) {
+		return folder.resolve(baseName + "." + sheetName + extension);
+	}
+
+	@Override
+	public int getNumberOfRows(String sheetName) {
+		return getIndex(sheetName).getNumberOfRows();
+	}
+
+	@Override
+	public String getCellData(int rowNumb, int colNumb, String sheetName) {
+		return getIndex(sheetName).getCellData(rowNumb, colNumb);
+	}
+
+	@Override
+	public Map<String, String> getData(String sheetName, int row) {
+		SheetIndex index = getIndex(sheetName);
+		if (row < 0 || row >= index.getNumberOfRows()) {
+			throw new IllegalArgumentException("Row " + row + " was not found in sheet: " + sheetName);
+		}
+		return index.getData(row);
+	}
+
+	@Override
+	public List<String> getScenariosToRun(String sheetName, int runModeColumn, int testCaseColumn) {
+		// Parse every row once instead of once per cell
+		SheetIndex index = getIndex(sheetName);
+		List<String> testList = new ArrayList<>();
+		for (int i = 1; i < index.getNumberOfRows(); i++) {
+			String[] cells = index.readRow(i);
+			if (getCell(cells, runModeColumn).equalsIgnoreCase(RUN_MODE_YES)) {
+				testList.add(getCell(cells, testCaseColumn).trim());
+			}
+		}
+		return testList;
+	}
+
+	@Override
+	public Iterator<Map<String, String>> rows(String sheetName) {
+		SheetIndex index = getIndex(sheetName);
+		return new TestDataSource() {
+			@Override
+			public int getNumberOfRows(String name) {
+				return index.getNumberOfRows();
+			}
+
+			@Override
+			public String getCellData(int rowNumb, int colNumb, String name) {
+				return index.getCellData(rowNumb, colNumb);
+			}
+
+			@Override
+			public Map<String, String> getData(String name, int row) {
+				return index.getData(row);
+			}
+		}.rows(sheetName);
+	}
+
+	private static String getCell(String[] cells, int colNumb) {
+		return colNumb >= 0 && colNumb < cells.length ? cells[colNumb] : "";
+	}
+
+	private SheetIndex getIndex(String sheetName) {
+		Path path = getSheetPath(sheetName);
+		long lastModified = path.toFile().lastModified();
+		SheetIndex index = indexes.get(sheetName);
+		if (index != null && index.lastModified == lastModified) {
+			return index;
+		}
+		return indexes.compute(sheetName, (name, current) -> current != null && current.lastModified == lastModified ? current : buildIndex(path, lastModified));
+	}
+
+	private SheetIndex buildIndex(Path path, long lastModified) {
+		if (!Files.exists(path)) {
+			throw new IllegalArgumentException("Sheet was not found: " + path);
+		}
+		byte[] content;
+		try {
+			content = Files.readAllBytes(path);
+		} catch (IOException exp) {
+			throw new UncheckedIOException("Failed to index " + path, exp);
+		}
+		RecordScanner scanner = new RecordScanner(isQuotedMultiline());
+		scanner.scan(content);
+		int records = scanner.records;
+		if (records == 0) {
+			return new SheetIndex(lastModified, content, List.of(), new int[0], new int[0]);
+		}
+		int firstData = hasHeaderRecord() ? 1 : 0;
+		List<String> headers = parseHeader(new String(content, scanner.starts[0], scanner.ends[0] - scanner.starts[0], StandardCharsets.UTF_8));
+		log.info("Indexed {} rows of test data: {}", records - firstData, path);
+		return new SheetIndex(lastModified, content, headers, Arrays.copyOfRange(scanner.starts, firstData, records), Arrays.copyOfRange(scanner.ends, firstData, records));
+	}
+
+	/**
+	 * Finds the byte ranges of the non-blank records in a sheet file, excluding line terminators.
+	 * A double quote never occurs inside a multi-byte UTF-8 sequence, so quotes can be tracked on raw bytes.
+	 */
+	private static final class RecordScanner {
+		private final boolean quotedMultiline;
+		private int[] starts = new int[64];
+		private int[] ends = new int[64];
+		private int records;
+		private boolean inQuotes;
+		private int position;
+		private int start;
+		private int contentEnd;
+
+		private RecordScanner(boolean quotedMultiline) {
+			this.quotedMultiline = quotedMultiline;
+		}
+
+		private void scan(byte[] content) {
+			for (int i = 0; i < content.length; i++, position++) {
+				byte value = content[i];
+				if (value == '"' && quotedMultiline) {
+					inQuotes = !inQuotes;
+				}
+				if (value == '\n' && !inQuotes) {
+					addRecord();
+					start = position + 1;
+					contentEnd = start;
+				} else if (value != '\r') {
+					contentEnd = position + 1;
+				}
+			}
+			addRecord();
+		}
+
+		private void addRecord() {
+			if (contentEnd <= start) {
+				return;
+			}
+			if (records == starts.length) {
+				starts = Arrays.copyOf(starts, records * 2);
+				ends = Arrays.copyOf(ends, records * 2);
+			}
+			starts[records] = start;
+			ends[records++] = contentEnd;
+		}
+	}
+
+	/**
+	 * Content and record positions of a sheet file together with its header schema.
+	 */
+	private final class SheetIndex {
+		private final long lastModified;
+		private final byte[] content;
+		private final List<String> headers;
+		private final RowSchema schema;
+		private final int[] starts;
+		private final int[] ends;
+
+		private SheetIndex(long lastModified, byte[] content, List<String> headers, int[] starts, int[] ends) {
+			this.lastModified = lastModified;
+			this.content = content;
+			this.headers = headers;
+			this.schema = RowSchema.of(headers);
+			this.starts = starts;
+			this.ends = ends;
+		}
+
+		private int getNumberOfRows() {
+			return headers.isEmpty() ? 0 : starts.length + 1;
+		}
+
+		private String getCellData(int rowNumb, int colNumb) {
+			if (rowNumb == 0) {
+				return colNumb >= 0 && colNumb < headers.size() ? headers.get(colNumb) : "";
+			}
+			if (rowNumb < 0 || rowNumb > starts.length) {
+				return "";
+			}
+			return getCell(readRow(rowNumb), colNumb);
+		}
+
+		private Map<String, String> getData(int rowNumb) {
+			return schema.row(rowNumb == 0 ? headers.toArray(new String[0]) : readRow(rowNumb));
+		}
+
+		private String[] readRow(int rowNumb) {
+			int record = rowNumb - 1;
+			return parseRecord(new String(content, starts[record], ends[record] - starts[record], StandardCharsets.UTF_8), headers);
+		}
+	}
+}
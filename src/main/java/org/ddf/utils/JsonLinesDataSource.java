@@ -0,0 +1,83 @@
+package org.ddf.utils;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+/**
+ * This class reads test data from JSON lines files, one file per sheet and one JSON object per line.
+ * There is no header record: the keys of the first object, in order, are the column headers,
+ * and every line is a data row. Keys missing from a line are read as "", unknown keys are ignored.
+ */
+public class JsonLinesDataSource extends FileDataSource {
+
+	private static final Json JSON = new Json();
+
+	/**
+	 * Constructor for the JsonLinesDataSource class.
+	 * @param dataPath The path of the test data, e.g. {@code data/TestData.jsonl}.
+	 */
+	public JsonLinesDataSource(String dataPath) {
+		super(dataPath);
+	}
+
+	@Override
+	protected boolean isQuotedMultiline() {
+		return false;
+	}
+
+	@Override
+	protected boolean hasHeaderRecord() {
+		return false;
+	}
+
+	@Override
+	protected List<String> parseHeader(String record) {
+		return new ArrayList<>(parse(record).keySet());
+	}
+
+	@Override
+	protected String[] parseRecord(String record, List<String> headers) {
+		Map<String, String> values = parse(record);
+		String[] cells = new String[headers.size()];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = values.getOrDefault(headers.get(i), "");
+		}
+		return cells;
+	}
+
+	private static Map<String, String> parse(String record) {
+		Map<String, String> values = new LinkedHashMap<>();
+		try (JsonInput input = JSON.newInput(new StringReader(record))) {
+			input.beginObject();
+			while (input.hasNext()) {
+				values.put(input.nextName(), readValue(input));
+			}
+			input.endObject();
+		}
+		return values;
+	}
+
+	private static String readValue(JsonInput input) {
+		switch (input.peek()) {
+			case STRING:
+				return input.nextString();
+			case NUMBER:
+				Number number = input.nextNumber();
+				return number.doubleValue() == number.longValue() ? String.valueOf(number.longValue()) : number.toString();
+			case BOOLEAN:
+				return String.valueOf(input.nextBoolean());
+			case NULL:
+				input.nextNull();
+				return "";
+			default:
+				input.skipValue();
+				return "";
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package org.ddf.utils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ddf.configurations.configManager;
+
+/**
+ * This class checks links for being broken with concurrent HEAD requests.
+ * <p>
+ * All checks share one HTTP client, so connections to the same host are reused. At most {@code linkCheckConcurrency}
+ * links are checked at a time and at most {@code linkCheckHostConcurrency} of them on the same host, every request
+ * times out after {@code linkCheckTimeout}. Requests are sent asynchronously and wait for their turn without holding
+ * a thread. The settings are read from the current configuration when requests start, so a reloaded configuration
+ * applies to the next requests. The HTTP status of every URL is cached for the run, so a link that appears on many
+ * pages is only requested once; a request that failed without a status, e.g. on a timeout, is made again by the next check.
+ */
+public final class LinkChecker {
+	private static final Logger log = LogManager.getLogger(LinkChecker.class);
+	// The client has no connect timeout of its own, the timeout of every request also covers connecting
+	private static final HttpClient CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NORMAL)
+			.build();
+	private static final RequestLimit LIMIT = new RequestLimit("linkCheckConcurrency");
+	private static final Map<String, RequestLimit> HOST_LIMITS = new ConcurrentHashMap<>();
+	private static final Map<String, CompletableFuture<LinkResult>> RESULTS = new ConcurrentHashMap<>();
+
+	private LinkChecker() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Check links concurrently.
+	 * @param urls The URLs of the links.
+	 * @return The result of every distinct URL, in the order of the URLs.
+	 */
+	public static Map<String, LinkResult> check(Collection<String> urls) {
+		Map<String, CompletableFuture<LinkResult>> checks = new LinkedHashMap<>();
+		for (String url : urls) {
+			checks.computeIfAbsent(url, LinkChecker::checkAsync);
+		}
+		Map<String, LinkResult> results = new LinkedHashMap<>();
+		checks.forEach((url, check) -> results.put(url, check.join()));
+		return results;
+	}
+
+	/**
+	 * Check a link, or get the result of an earlier check of the same URL.
+	 * @param url The URL of the link.
+	 * @return The future result of the check.
+	 */
+	public static CompletableFuture<LinkResult> checkAsync(String url) {
+		if (url == null || url.isBlank()) {
+			return CompletableFuture.completedFuture(new LinkResult(url, -1, "Link has no URL"));
+		}
+		URI uri;
+		try {
+			uri = URI.create(url);
+		} catch (IllegalArgumentException e) {
+			return CompletableFuture.completedFuture(new LinkResult(url, -1, "Invalid URL: " + e.getMessage()));
+		}
+		if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+			log.info("Not checking the link, it is not an HTTP link: {}", url);
+			return CompletableFuture.completedFuture(new LinkResult(url, 0, null));
+		}
+		if (uri.getHost() == null) {
+			return CompletableFuture.completedFuture(new LinkResult(url, -1, "Invalid URL: the link has no host"));
+		}
+		CompletableFuture<LinkResult> check = RESULTS.computeIfAbsent(url, key -> request(key, uri));
+		// Only statuses are kept, a failed request is made again by the next check of the URL
+		check.thenAccept(result -> {
+			if (result.getError() != null) {
+				RESULTS.remove(url, check);
+			}
+		});
+		return check;
+	}
+
+	private static CompletableFuture<LinkResult> request(String url, URI uri) {
+		RequestLimit hostLimit = HOST_LIMITS.computeIfAbsent(uri.getHost(), host -> new RequestLimit("linkCheckHostConcurrency"));
+		return hostLimit.run(() -> LIMIT.run(() -> send(uri, "HEAD").thenCompose(status -> {
+			// Some servers do not support HEAD requests, check the link with a GET request then
+			return status == 405 || status == 501 ? send(uri, "GET") : CompletableFuture.completedFuture(status);
+		}))).handle((status, error) -> {
+			if (error != null) {
+				Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				return new LinkResult(url, -1, cause.toString());
+			}
+			return new LinkResult(url, status, null);
+		});
+	}
+
+	private static CompletableFuture<Integer> send(URI uri, String method) {
+		HttpRequest request = HttpRequest.newBuilder(uri)
+				.timeout(configManager.getConfiguration().getDuration("linkCheckTimeout"))
+				.method(method, HttpRequest.BodyPublishers.noBody())
+				.build();
+		return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+	}
+
+	/**
+	 * Limits the requests running at a time without blocking a thread: a request that exceeds the limit is queued
+	 * and started when a running request completes. The limit is read from the current configuration every time.
+	 */
+	private static final class RequestLimit {
+		private final Deque<Runnable> waiting = new ArrayDeque<>();
+		private final String limitKey;
+		private int running;
+
+		private RequestLimit(String limitKey) {
+			this.limitKey = limitKey;
+		}
+
+		private int limit() {
+			return configManager.getConfiguration().getInt(limitKey);
+		}
+
+		private <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> request) {
+			CompletableFuture<T> result = new CompletableFuture<>();
+			Runnable start = () -> {
+				CompletableFuture<T> running;
+				try {
+					running = request.get();
+				} catch (RuntimeException e) {
+					running = CompletableFuture.failedFuture(e);
+				}
+				running.whenComplete((value, error) -> {
+					release();
+					if (error != null) {
+						result.completeExceptionally(error);
+					} else {
+						result.complete(value);
+					}
+				});
+			};
+			boolean startNow;
+			synchronized (this) {
+				startNow = running < limit();
+				if (startNow) {
+					running++;
+				} else {
+					waiting.add(start);
+				}
+			}
+			if (startNow) {
+				start.run();
+			}
+			return result;
+		}
+
+		private void release() {
+			List<Runnable> next = new ArrayList<>();
+			synchronized (this) {
+				running--;
+				// A raised limit starts several waiting requests at once
+				for (int limit = limit(); running < limit && !waiting.isEmpty(); running++) {
+					next.add(waiting.poll());
+				}
+			}
+			next.forEach(Runnable::run);
+		}
+	}
+
+	/**
+	 * The result of a link check.
+	 */
+	public static final class LinkResult {
+		private final String url;
+		private final int status;
+		private final String error;
+
+		private LinkResult(String url, int status, String error) {
+			this.url = url;
+			this.status = status;
+			this.error = error;
+		}
+
+		/**
+		 * Get the URL of the link.
+		 * @return The URL.
+		 */
+		public String getUrl() {
+			return url;
+		}
+
+		/**
+		 * Get the HTTP status of the link.
+		 * @return The status code, 0 if the link was not checked because it is not an HTTP link, -1 if it failed.
+		 */
+		public int getStatus() {
+			return status;
+		}
+
+		/**
+		 * Get the reason why the link could not be checked.
+		 * @return The error, or null if the link was checked.
+		 */
+		public String getError() {
+			return error;
+		}
+
+		/**
+		 * Check whether the link is broken.
+		 * @return true if the check failed or the status is not a success, false otherwise.
+		 */
+		public boolean isBroken() {
+			return error != null || (status != 0 && (status < 200 || status >= 400));
+		}
+
+		@Override
+		public String toString() {
+			return url + " (" + (error != null ? error : "status " + status) + ")";
+		}
+	}
+}
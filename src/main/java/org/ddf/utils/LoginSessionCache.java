@@ -0,0 +1,110 @@
+package org.ddf.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * This class caches the cookies of a logged in session per user and worker thread, so that tests which only need
+ * a logged in user can inject them into a new browser instead of logging in through the UI.
+ * <p>
+ * A cached session is dropped when one of its cookies has expired, or when a request to a page that requires a
+ * login is redirected to the login page.
+ */
+public class LoginSessionCache {
+	private static final Logger log = LogManager.getLogger(LoginSessionCache.class);
+	private static final Map<String, Set<Cookie>> SESSIONS = new ConcurrentHashMap<>();
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+	private static final HttpClient CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(REQUEST_TIMEOUT)
+			.build();
+
+	private LoginSessionCache() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Inject the cached session of a user into the browser and reload the current page.
+	 * @param driver The WebDriver instance, with a page of the application open.
+	 * @param email The email address of the user.
+	 * @param accountPage A page that redirects to the login page when the user is not logged in.
+	 * @return true if a valid session was injected, false if the user has to log in.
+	 */
+	public static boolean restore(WebDriver driver, String email, URI accountPage) {
+		String key = getKey(email);
+		Set<Cookie> cookies = SESSIONS.get(key);
+		if (cookies == null) {
+			return false;
+		}
+		if (isExpired(cookies) || !isLoggedIn(cookies, accountPage)) {
+			log.info("Cached login session of {} is no longer valid", email);
+			SESSIONS.remove(key);
+			return false;
+		}
+		cookies.forEach(driver.manage()::addCookie);
+		driver.navigate().refresh();
+		return true;
+	}
+
+	/**
+	 * Cache the cookies of the browser as the session of a user, after a login through the UI.
+	 * @param driver The WebDriver instance with the user logged in.
+	 * @param email The email address of the user.
+	 */
+	public static void store(WebDriver driver, String email) {
+		SESSIONS.put(getKey(email), Set.copyOf(driver.manage().getCookies()));
+	}
+
+	/**
+	 * Drop the cached session of a user.
+	 * @param email The email address of the user.
+	 */
+	public static void invalidate(String email) {
+		SESSIONS.remove(getKey(email));
+	}
+
+	private static String getKey(String email) {
+		return Thread.currentThread().getId() + ":" + email.toLowerCase();
+	}
+
+	private static boolean isExpired(Set<Cookie> cookies) {
+		Date now = new Date();
+		return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(now));
+	}
+
+	private static boolean isLoggedIn(Set<Cookie> cookies, URI accountPage) {
+		String cookieHeader = cookies.stream().map(cookie -> cookie.getName() + "=" + cookie.getValue()).collect(Collectors.joining("; "));
+		HttpRequest request = HttpRequest.newBuilder(accountPage)
+				.timeout(REQUEST_TIMEOUT)
+				.header("Cookie", cookieHeader)
+				.GET()
+				.build();
+		try {
+			HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() >= 300 && response.statusCode() < 400) {
+				return !response.headers().firstValue("Location").orElse("").toLowerCase().contains("login");
+			}
+			return response.statusCode() < 300;
+		} catch (IOException e) {
+			log.warn("Failed to check the login session at {}: {}", accountPage, e.getMessage());
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
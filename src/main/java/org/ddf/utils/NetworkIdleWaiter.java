@@ -0,0 +1,132 @@
+package org.ddf.utils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.JsonInput;
+
+/**
+ * This class tracks the network requests of a browser through the Chrome DevTools Protocol, so that page-load waits
+ * can return as soon as no request has been in flight for a short quiet period.
+ * <p>
+ * The raw protocol events are used instead of the versioned DevTools classes, so the waiter does not depend on the
+ * Chrome version. WebSocket, EventSource and ping requests never finish in the usual sense and are ignored, as are
+ * requests that have been in flight for longer than {@value #MAX_REQUEST_SECONDS} seconds, e.g. long polling.
+ */
+public final class NetworkIdleWaiter {
+	private static final Logger log = LogManager.getLogger(NetworkIdleWaiter.class);
+	private static final Map<WebDriver, NetworkIdleWaiter> WAITERS = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final Set<String> IGNORED_TYPES = Set.of("WebSocket", "EventSource", "Ping");
+	private static final long MAX_REQUEST_SECONDS = 10;
+
+	private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+	private volatile long lastActivity = System.nanoTime();
+
+	private NetworkIdleWaiter() {
+		// Instances are created by attach
+	}
+
+	/**
+	 * Start tracking the network requests of a browser.
+	 * @param driver The WebDriver instance, it must support DevTools.
+	 * @return The waiter of the browser, or null if DevTools is not available.
+	 */
+	public static NetworkIdleWaiter attach(WebDriver driver) {
+		if (!(driver instanceof HasDevTools)) {
+			return null;
+		}
+		try {
+			NetworkIdleWaiter waiter = new NetworkIdleWaiter();
+			DevTools devTools = ((HasDevTools) driver).getDevTools();
+			devTools.createSessionIfThereIsNotOne();
+			devTools.addListener(new Event<>("Network.requestWillBeSent", NetworkIdleWaiter::readRequest), waiter::started);
+			devTools.addListener(new Event<>("Network.loadingFinished", NetworkIdleWaiter::readRequest), waiter::finished);
+			devTools.addListener(new Event<>("Network.loadingFailed", NetworkIdleWaiter::readRequest), waiter::finished);
+			devTools.send(new Command<>("Network.enable", Map.of()));
+			WAITERS.put(driver, waiter);
+			return waiter;
+		} catch (WebDriverException e) {
+			log.warn("Network idle detection is not available: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Get the waiter attached to a browser.
+	 * @param driver The WebDriver instance.
+	 * @return The waiter of the browser, or null if none was attached.
+	 */
+	public static NetworkIdleWaiter of(WebDriver driver) {
+		return WAITERS.get(driver);
+	}
+
+	/**
+	 * Check whether no request has been in flight for the quiet period.
+	 * @param quietPeriod The time without network activity that counts as idle.
+	 * @return true if the network is idle, false otherwise.
+	 */
+	public boolean isIdle(Duration quietPeriod) {
+		long now = System.nanoTime();
+		long maxAge = Duration.ofSeconds(MAX_REQUEST_SECONDS).toNanos();
+		inFlight.values().removeIf(start -> now - start > maxAge);
+		return inFlight.isEmpty() && now - lastActivity >= quietPeriod.toNanos();
+	}
+
+	private void started(Request request) {
+		if (request.type == null || !IGNORED_TYPES.contains(request.type)) {
+			inFlight.putIfAbsent(request.id, System.nanoTime());
+			lastActivity = System.nanoTime();
+		}
+	}
+
+	private void finished(Request request) {
+		if (inFlight.remove(request.id) != null) {
+			lastActivity = System.nanoTime();
+		}
+	}
+
+	private static Request readRequest(JsonInput input) {
+		String id = null;
+		String type = null;
+		input.beginObject();
+		while (input.hasNext()) {
+			switch (input.nextName()) {
+				case "requestId":
+					id = input.nextString();
+					break;
+				case "type":
+					type = input.nextString();
+					break;
+				default:
+					input.skipValue();
+			}
+		}
+		input.endObject();
+		return new Request(id, type);
+	}
+
+	/**
+	 * The fields of a network event used to track a request.
+	 */
+	private static final class Request {
+		private final String id;
+		private final String type;
+
+		private Request(String id, String type) {
+			this.id = id;
+			this.type = type;
+		}
+	}
+}
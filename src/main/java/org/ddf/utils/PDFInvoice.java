@@ -0,0 +1,308 @@
+package org.ddf.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class indexes the fields of a PDF invoice, so that assertions are lookups instead of scans of the whole text.
+ * <p>
+ * The text is parsed once, line by line: "Order# 123" gives the order number, every "Label: value" line a field by
+ * its lower case label (the first one wins), and every "name price quantity total" line a line item.
+ * <p>
+ * Inside the product table, from its "Name Price Qty Total" header to the sub-total, a product cell may span several
+ * lines: the product name, attribute lines such as "Processor: 2X", and the price, quantity and total at the end of
+ * the name line or on lines of their own. Attribute lines belong to the line item, they are not fields of the invoice.
+ */
+public final class PDFInvoice {
+	private static final Pattern ORDER_NUMBER = Pattern.compile("Order\\s*#\\s*:?\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
+	private static final Pattern FIELD = Pattern.compile("^([^:]{1,40}):\\s*(.+)$");
+	private static final String AMOUNT = "-?[^\\d\\s-]{0,3}\\s?[\\d,]+(?:\\.\\d+)?";
+	private static final String QUANTITY = "\\d{1,6}";
+	private static final Pattern LINE_ITEM = Pattern.compile("^(.+?)\\s+(" + AMOUNT + ")\\s+(" + QUANTITY + ")\\s+(" + AMOUNT + ")$");
+	private static final Pattern AMOUNTS = Pattern.compile("^(?:" + AMOUNT + ")(?:\\s+(?:" + AMOUNT + "))*$");
+	private static final Pattern AMOUNT_TOKEN = Pattern.compile(AMOUNT);
+	private static final Pattern TABLE_HEADER = Pattern.compile("^[^\\d]*\\bprice\\b[^\\d]*\\b(?:qty|quantity)\\b[^\\d]*\\btotal$", Pattern.CASE_INSENSITIVE);
+	private static final Pattern TABLE_END = Pattern.compile("^(?:sub-?\\s?total|order total)\\b", Pattern.CASE_INSENSITIVE);
+
+	private final String orderNumber;
+	private final Map<String, String> fields;
+	private final List<LineItem> lineItems;
+	private final Set<Integer> quantities;
+
+	private PDFInvoice(String orderNumber, Map<String, String> fields, List<LineItem> lineItems) {
+		this.orderNumber = orderNumber;
+		this.fields = Collections.unmodifiableMap(fields);
+		this.lineItems = Collections.unmodifiableList(lineItems);
+		Set<Integer> itemQuantities = new HashSet<>();
+		lineItems.forEach(lineItem -> itemQuantities.add(Integer.valueOf(lineItem.getQuantity())));
+		this.quantities = Collections.unmodifiableSet(itemQuantities);
+	}
+
+	/**
+	 * Parse the text of a PDF invoice.
+	 * @param text The text of the invoice, e.g. from {@link PDFUtil#read(String)}.
+	 * @return The indexed invoice.
+	 */
+	public static PDFInvoice parse(String text) {
+		String number = null;
+		Map<String, String> fields = new HashMap<>();
+		List<LineItem> lineItems = new ArrayList<>();
+		ProductTable table = null;
+		for (String line : text.split("\\R")) {
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			Matcher matcher = ORDER_NUMBER.matcher(line);
+			if (number == null && matcher.find()) {
+				number = matcher.group(1);
+				continue;
+			}
+			if (table == null && TABLE_HEADER.matcher(line).find()) {
+				table = new ProductTable(lineItems);
+				continue;
+			}
+			if (table != null) {
+				if (!TABLE_END.matcher(line).find()) {
+					table.add(line);
+					continue;
+				}
+				table = null;
+			}
+			matcher = LINE_ITEM.matcher(line);
+			if (matcher.matches()) {
+				lineItems.add(new LineItem(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4)));
+				continue;
+			}
+			matcher = FIELD.matcher(line);
+			if (matcher.matches()) {
+				fields.putIfAbsent(matcher.group(1).trim().toLowerCase(Locale.ROOT), matcher.group(2).trim());
+			}
+		}
+		return new PDFInvoice(number, fields, lineItems);
+	}
+
+	/**
+	 * Read the number of an amount, ignoring its currency symbol and thousands separators.
+	 * @param amount The amount, e.g. "$1,200.00".
+	 * @return The number, or null if the text is not an amount.
+	 */
+	public static BigDecimal amount(String amount) {
+		if (amount == null) {
+			return null;
+		}
+		String number = amount.replaceAll("[^\\d.-]", "");
+		try {
+			return new BigDecimal(number);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Get the order number.
+	 * @return The order number, or null if the invoice has none.
+	 */
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+
+	/**
+	 * Get a field by its label.
+	 * @param label The label of the field, ignoring case and without the colon.
+	 * @return The value of the field, or null if the invoice does not have it.
+	 */
+	public String getField(String label) {
+		return fields.get(label.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Get the order total.
+	 * @return The order total, or null if the invoice does not have it.
+	 */
+	public String getOrderTotal() {
+		return getField("Order total");
+	}
+
+	/**
+	 * Get the payment method.
+	 * @return The payment method, or null if the invoice does not have it.
+	 */
+	public String getPaymentMethod() {
+		return getField("Payment method");
+	}
+
+	/**
+	 * Get the shipping method.
+	 * @return The shipping method, or null if the invoice does not have it.
+	 */
+	public String getShippingMethod() {
+		return getField("Shipping method");
+	}
+
+	/**
+	 * Get the products of the invoice.
+	 * @return The line items, in invoice order.
+	 */
+	public List<LineItem> getLineItems() {
+		return lineItems;
+	}
+
+	/**
+	 * Check whether a product of the invoice was ordered in a quantity.
+	 * @param quantity The quantity, e.g. "2".
+	 * @return true if a line item has the quantity, false otherwise or if the quantity is not a number.
+	 */
+	public boolean hasQuantity(String quantity) {
+		try {
+			return quantities.contains(Integer.valueOf(quantity.trim()));
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Collects the line items of the product table, whose cells may span several lines.
+	 */
+	private static final class ProductTable {
+		private final List<LineItem> lineItems;
+		private final List<String> amounts = new ArrayList<>();
+		private final Map<String, String> attributes = new LinkedHashMap<>();
+		private String name;
+		private LineItem last;
+
+		private ProductTable(List<LineItem> lineItems) {
+			this.lineItems = lineItems;
+		}
+
+		private void add(String line) {
+			Matcher matcher = LINE_ITEM.matcher(line);
+			if (matcher.matches()) {
+				// The name and amounts are on one line, attribute lines may follow
+				reset();
+				addItem(new LineItem(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4)));
+				return;
+			}
+			if (AMOUNTS.matcher(line).matches()) {
+				matcher = AMOUNT_TOKEN.matcher(line);
+				while (matcher.find()) {
+					amounts.add(matcher.group().trim());
+				}
+				if (amounts.size() >= 3) {
+					addAmounts();
+				}
+				return;
+			}
+			matcher = FIELD.matcher(line);
+			if (matcher.matches()) {
+				Map<String, String> target = name != null ? attributes : last != null ? last.attributes : null;
+				if (target != null) {
+					target.putIfAbsent(matcher.group(1).trim(), matcher.group(2).trim());
+				}
+				return;
+			}
+			if (name == null) {
+				name = line;
+			} else if (attributes.isEmpty()) {
+				// A long product name is wrapped onto the next line
+				name = name + " " + line;
+			}
+		}
+
+		private void addAmounts() {
+			String price = amounts.get(amounts.size() - 3);
+			String quantity = amounts.get(amounts.size() - 2);
+			String total = amounts.get(amounts.size() - 1);
+			if (quantity.matches(QUANTITY)) {
+				LineItem lineItem = new LineItem(name == null ? "" : name, price, quantity, total);
+				lineItem.attributes.putAll(attributes);
+				addItem(lineItem);
+			}
+			reset();
+		}
+
+		private void addItem(LineItem lineItem) {
+			lineItems.add(lineItem);
+			last = lineItem;
+		}
+
+		private void reset() {
+			amounts.clear();
+			attributes.clear();
+			name = null;
+		}
+	}
+
+	/**
+	 * A product of the invoice.
+	 */
+	public static final class LineItem {
+		private final String name;
+		private final String price;
+		private final String quantity;
+		private final String total;
+		private final Map<String, String> attributes = new LinkedHashMap<>();
+
+		private LineItem(String name, String price, String quantity, String total) {
+			this.name = name;
+			this.price = price;
+			this.quantity = quantity;
+			this.total = total;
+		}
+
+		/**
+		 * Get the product name.
+		 * @return The name.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Get the unit price.
+		 * @return The price.
+		 */
+		public String getPrice() {
+			return price;
+		}
+
+		/**
+		 * Get the ordered quantity.
+		 * @return The quantity.
+		 */
+		public String getQuantity() {
+			return quantity;
+		}
+
+		/**
+		 * Get the total of the line.
+		 * @return The total.
+		 */
+		public String getTotal() {
+			return total;
+		}
+
+		/**
+		 * Get the attributes of the product, e.g. "Processor" of a configured computer.
+		 * @return The attribute values by label, in invoice order.
+		 */
+		public Map<String, String> getAttributes() {
+			return Collections.unmodifiableMap(attributes);
+		}
+
+		@Override
+		public String toString() {
+			return name + " " + price + " x " + quantity + " = " + total;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package org.ddf.utils;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ddf.reports.ReportManager;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+/**
+ * This class validates PDF invoices against the order details shown in the shop.
+ * <p>
+ * Invoices are validated inline by the test, or, with {@code offlinePdfValidation} enabled, the test waits for the
+ * download and only queues the downloaded file with the expected order details, so its browser is released without
+ * parsing the invoice. A browser that is quit stops its download, which is why the download itself is not queued.
+ * The queued invoices are parsed and validated in parallel on a fork-join pool once the UI tests have finished, and
+ * the results are logged to the report of the test that queued them.
+ */
+public final class PDFInvoiceValidator {
+	private static final Logger log = LogManager.getLogger(PDFInvoiceValidator.class);
+	private static final Queue<Expectation> PENDING = new ConcurrentLinkedQueue<>();
+
+	private PDFInvoiceValidator() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Compare an invoice with the order details shown in the shop.
+	 * @param invoice The parsed invoice.
+	 * @param orderNumber The order number.
+	 * @param orderTotal The order total.
+	 * @param quantity The ordered quantity of a product.
+	 * @param paymentMethod The payment method text, it must contain the payment method of the invoice.
+	 * @return The mismatches, empty if the invoice matches.
+	 */
+	public static List<String> verify(PDFInvoice invoice, String orderNumber, String orderTotal, String quantity, String paymentMethod) {
+		List<String> failures = new ArrayList<>();
+		BigDecimal invoiceTotal = PDFInvoice.amount(invoice.getOrderTotal());
+		if (invoiceTotal == null || invoiceTotal.compareTo(PDFInvoice.amount(orderTotal)) != 0) {
+			failures.add("Order total on the PDF invoice did not match: expected " + orderTotal + " but found " + invoice.getOrderTotal());
+		}
+		if (!invoice.hasQuantity(quantity)) {
+			failures.add("Ordered quantity did not match: expected " + quantity + " in " + invoice.getLineItems());
+		}
+		if (invoice.getPaymentMethod() == null || !paymentMethod.contains(invoice.getPaymentMethod())) {
+			failures.add("Payment method did not match: expected " + paymentMethod + " but found " + invoice.getPaymentMethod());
+		}
+		if (!orderNumber.equals(invoice.getOrderNumber())) {
+			failures.add("Order number did not match: expected " + orderNumber + " but found " + invoice.getOrderNumber());
+		}
+		return failures;
+	}
+
+	/**
+	 * Queue an invoice for validation after the UI tests.
+	 * @param pdfFile The downloaded invoice, see {@link PDFUtil#waitUntilDownloadCompleted}.
+	 * @param orderNumber The order number.
+	 * @param orderTotal The order total.
+	 * @param quantity The ordered quantity of a product.
+	 * @param paymentMethod The payment method text.
+	 */
+	public static void enqueue(File pdfFile, String orderNumber, String orderTotal, String quantity, String paymentMethod) {
+		PENDING.add(new Expectation(ReportManager.getTest(), pdfFile, orderNumber, orderTotal, quantity, paymentMethod));
+		log.info("PDF invoice {} queued for validation", pdfFile.getName());
+	}
+
+	/**
+	 * Validate all queued invoices in parallel and log the results to the report.
+	 * @return The mismatches of every invoice that did not match, by file name.
+	 */
+	public static Map<String, List<String>> validateAll() {
+		List<Expectation> expectations = new ArrayList<>();
+		for (Expectation expectation = PENDING.poll(); expectation != null; expectation = PENDING.poll()) {
+			expectations.add(expectation);
+		}
+		Map<String, List<String>> failed = new LinkedHashMap<>();
+		if (expectations.isEmpty()) {
+			return failed;
+		}
+		log.info("Validating {} PDF invoices", expectations.size());
+		ForkJoinPool pool = new ForkJoinPool(Math.min(expectations.size(), Runtime.getRuntime().availableProcessors()));
+		try {
+			List<List<String>> results = pool.submit(() -> expectations.parallelStream()
+					.map(PDFInvoiceValidator::validate)
+					.collect(Collectors.toList())).join();
+			for (int i = 0; i < expectations.size(); i++) {
+				Expectation expectation = expectations.get(i);
+				List<String> failures = results.get(i);
+				report(expectation, failures);
+				if (!failures.isEmpty()) {
+					failed.put(expectation.pdfFile.getName(), failures);
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+		ReportManager.endTest();
+		return failed;
+	}
+
+	private static List<String> validate(Expectation expectation) {
+		String pdfContent = PDFUtil.read(expectation.pdfFile);
+		if (pdfContent == null) {
+			return List.of("Did not get PDF content");
+		}
+		return verify(PDFInvoice.parse(pdfContent), expectation.orderNumber, expectation.orderTotal, expectation.quantity, expectation.paymentMethod);
+	}
+
+	private static void report(Expectation expectation, List<String> failures) {
+		String fileName = expectation.pdfFile.getName();
+		ExtentTest test = expectation.test != null ? expectation.test : ReportManager.createTest("PDF invoice " + fileName);
+		if (failures.isEmpty()) {
+			log.info("PDF invoice {} validated successfully", fileName);
+			test.log(Status.PASS, "PDF invoice " + fileName + " validated successfully");
+		} else {
+			log.error("PDF invoice {} did not match: {}", fileName, failures);
+			failures.forEach(failure -> test.log(Status.FAIL, "PDF invoice " + fileName + ": " + failure));
+		}
+	}
+
+	/**
+	 * The expected order details of a queued invoice.
+	 */
+	private static final class Expectation {
+		private final ExtentTest test;
+		private final File pdfFile;
+		private final String orderNumber;
+		private final String orderTotal;
+		private final String quantity;
+		private final String paymentMethod;
+
+		private Expectation(ExtentTest test, File pdfFile, String orderNumber, String orderTotal, String quantity, String paymentMethod) {
+			this.test = test;
+			this.pdfFile = pdfFile;
+			this.orderNumber = orderNumber;
+			this.orderTotal = orderTotal;
+			this.quantity = quantity;
+			this.paymentMethod = paymentMethod;
+		}
+	}
+}
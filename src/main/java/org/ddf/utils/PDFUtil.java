@@ -1,60 +1,170 @@
 package org.ddf.utils;
 
+import java.awt.geom.Rectangle2D;
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.PDFTextStripperByArea;
+import org.ddf.configurations.DriverFactory;
+import org.ddf.configurations.DriverManager;
 import org.ddf.configurations.GlobalVariables;
+import org.ddf.configurations.configManager;
+import org.ddf.reports.RunMetrics;
 
 /**
  * Utility class for reading text from PDF files.
+ * <p>
+ * Documents are loaded with at most {@value #MAIN_MEMORY_BYTES} bytes of main memory, larger documents are buffered
+ * in a temporary file, and are closed after every read. Only the requested pages or regions are extracted.
  */
 public class PDFUtil implements GlobalVariables {
 
 	private static final Logger LOG = LogManager.getLogger(PDFUtil.class);
+	private static final long MAIN_MEMORY_BYTES = 8L * 1024 * 1024;
 
 	/**
-	 * Reads text from the specified PDF file.
+	 * Reads text from the specified PDF file, downloaded by the browser of the current thread.
 	 *
 	 * @param fileName The name of the PDF file to read.
 	 * @return The text content of the PDF file.
 	 * @throws InterruptedException If interrupted while waiting for download completion.
 	 */
-	public synchronized static String read(String fileName) throws InterruptedException {
-		String text = null;
-		try {
-			// Create a File object for the PDF file
-			File pdfFile = new File(DOWNLOAD_FOLDER.concat(fileName));
-			// Wait until the download is completed
-			waitUntilDownloadCompleted(pdfFile);
-			// Load the PDF document
-			PDDocument doc = PDDocument.load(pdfFile);
-			// Extract text from the PDF document
-			text = new PDFTextStripper().getText(doc);
-			// Log the extracted text
-			LOG.info(text);
+	public static String read(String fileName) throws InterruptedException {
+		return read(DriverFactory.getDownloadFolder(DriverManager.getDriver()), fileName);
+	}
+
+	/**
+	 * Reads text from the specified PDF file. Files are read independently, so tests can read their PDF files in
+	 * parallel.
+	 *
+	 * @param downloadFolder The folder the PDF file is downloaded into.
+	 * @param fileName The name of the PDF file to read.
+	 * @return The text content of the PDF file, or null if it could not be read.
+	 * @throws InterruptedException If interrupted while waiting for download completion.
+	 */
+	public static String read(String downloadFolder, String fileName) throws InterruptedException {
+		return readPages(downloadFolder, fileName, 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads text from a range of pages of the specified PDF file.
+	 *
+	 * @param downloadFolder The folder the PDF file is downloaded into.
+	 * @param fileName The name of the PDF file to read.
+	 * @param startPage The first page to read, starting at 1.
+	 * @param endPage The last page to read, inclusive.
+	 * @return The text content of the pages, or null if the file could not be read.
+	 * @throws InterruptedException If interrupted while waiting for download completion.
+	 */
+	public static String readPages(String downloadFolder, String fileName, int startPage, int endPage) throws InterruptedException {
+		// Wait until the download is completed
+		return readPages(waitUntilDownloadCompleted(downloadFolder, fileName), startPage, endPage);
+	}
+
+	/**
+	 * Reads text from a PDF file that has already been downloaded, without waiting for its download.
+	 *
+	 * @param pdfFile The PDF file to read.
+	 * @return The text content of the PDF file, or null if it could not be read.
+	 */
+	public static String read(File pdfFile) {
+		return readPages(pdfFile, 1, Integer.MAX_VALUE);
+	}
+
+	private static String readPages(File pdfFile, int startPage, int endPage) {
+		String fileName = pdfFile.getName();
+		try (PDDocument doc = load(pdfFile)) {
+			// Extract text from the requested pages only
+			PDFTextStripper stripper = new PDFTextStripper();
+			stripper.setStartPage(startPage);
+			stripper.setEndPage(endPage);
+			String text = stripper.getText(doc);
+			LOG.info("Read {} characters from pages {} to {} of {}", text.length(), startPage, Math.min(endPage, doc.getNumberOfPages()), fileName);
+			LOG.debug(text);
+			return text;
 		} catch (IOException e) {
 			// Log an error if there's an exception while reading the file
 			LOG.error("Error while reading {} file", fileName, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the text of named regions of a page of the specified PDF file, e.g. the header fields of a form.
+	 *
+	 * @param downloadFolder The folder the PDF file is downloaded into.
+	 * @param fileName The name of the PDF file to read.
+	 * @param page The page to read, starting at 1.
+	 * @param regions The areas to read by name, in PDF points from the top left corner of the page.
+	 * @return The trimmed text by region name, empty if the file could not be read.
+	 * @throws IllegalArgumentException If the document does not have the page.
+	 * @throws InterruptedException If interrupted while waiting for download completion.
+	 */
+	public static Map<String, String> readRegions(String downloadFolder, String fileName, int page, Map<String, Rectangle2D> regions) throws InterruptedException {
+		Map<String, String> texts = new LinkedHashMap<>();
+		File pdfFile = waitUntilDownloadCompleted(downloadFolder, fileName);
+		try (PDDocument doc = load(pdfFile)) {
+			PDFTextStripperByArea stripper = new PDFTextStripperByArea();
+			stripper.setSortByPosition(true);
+			if (page < 1 || page > doc.getNumberOfPages()) {
+				throw new IllegalArgumentException("Page " + page + " was not found, " + fileName + " has " + doc.getNumberOfPages() + " pages");
+			}
+			regions.forEach(stripper::addRegion);
+			stripper.extractRegions(doc.getPage(page - 1));
+			for (String region : regions.keySet()) {
+				texts.put(region, stripper.getTextForRegion(region).trim());
+			}
+			LOG.info("Read {} regions of page {} of {}", texts.size(), page, fileName);
+			LOG.debug(texts);
+		} catch (IOException e) {
+			LOG.error("Error while reading {} file", fileName, e);
 		}
-		return text;
+		return texts;
+	}
+
+	/**
+	 * Loads a PDF document with restricted main memory.
+	 *
+	 * @param pdfFile The PDF file.
+	 * @return The document, to be closed by the caller.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static PDDocument load(File pdfFile) throws IOException {
+		return PDDocument.load(pdfFile, MemoryUsageSetting.setupMixed(MAIN_MEMORY_BYTES));
 	}
 
 	/**
-	 * Waits until the download of the PDF file is completed.
+	 * Waits until the download of the PDF file is completed, as reported by the {@link DownloadTracker} of the
+	 * download folder, for at most the {@code downloadTime} of the configuration.
 	 *
-	 * @param pdfFile The PDF file being downloaded.
-	 * @throws InterruptedException If interrupted while waiting.
+	 * @param downloadFolder The folder the PDF file is downloaded into.
+	 * @param fileName The name of the PDF file being downloaded.
+	 * @return The PDF file, it does not exist or is incomplete if the download did not complete in time.
+	 * @throws InterruptedException If interrupted while waiting for download completion.
 	 */
-	private static void waitUntilDownloadCompleted(File pdfFile) throws InterruptedException {
-		// Loop until the file exists or until the maximum wait time is reached
-		for (int i = 0; i < DOWNLOAD_WAIT / 10; i++) {
-			if (pdfFile.exists())
-				break;
-			Thread.sleep(5000); // Wait for 5 seconds
-			System.out.println("Waiting for file download");
+	public static File waitUntilDownloadCompleted(String downloadFolder, String fileName) throws InterruptedException {
+		long start = System.nanoTime();
+		CompletableFuture<File> download = DownloadTracker.of(downloadFolder).expect(fileName);
+		try {
+			return download.get(configManager.getConfiguration().getDownloadWait().toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			download.cancel(false);
+			LOG.error("File was not downloaded: {}", new File(downloadFolder, fileName));
+			return new File(downloadFolder, fileName);
+		} finally {
+			RunMetrics.record("Wait: download", Duration.ofNanos(System.nanoTime() - start));
 		}
 	}
 }
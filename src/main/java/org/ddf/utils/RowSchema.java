@@ -0,0 +1,95 @@
+package org.ddf.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class describes the header row of a test data sheet.
+ * It is built once per sheet and shared by every {@link DataRow} of that sheet, so rows only carry their values.
+ * Header names are interned, which lets lookups with literal keys short-circuit on reference equality.
+ */
+public final class RowSchema {
+
+	private final String[] headers;
+	private final int[] columns;
+	private final Map<String, Integer> positions;
+
+	private RowSchema(String[] headers, int[] columns, Map<String, Integer> positions) {
+		this.headers = headers;
+		this.columns = columns;
+		this.positions = positions;
+	}
+
+	/**
+	 * Build a schema from the cells of a header row.
+	 * When a header appears more than once, the last column wins.
+	 * @param headerCells The cells of the header row.
+	 * @return The schema of the sheet.
+	 */
+	public static RowSchema of(List<String> headerCells) {
+		Map<String, Integer> lastColumns = new LinkedHashMap<>();
+		for (int i = 0; i < headerCells.size(); i++) {
+			lastColumns.remove(headerCells.get(i));
+			lastColumns.put(headerCells.get(i).intern(), i);
+		}
+		String[] headers = new String[lastColumns.size()];
+		int[] columns = new int[lastColumns.size()];
+		Map<String, Integer> positions = new HashMap<>();
+		int position = 0;
+		for (Map.Entry<String, Integer> header : lastColumns.entrySet()) {
+			headers[position] = header.getKey();
+			columns[position] = header.getValue();
+			positions.put(header.getKey(), position++);
+		}
+		return new RowSchema(headers, columns, Collections.unmodifiableMap(positions));
+	}
+
+	/**
+	 * Create a row for this schema, wrapping the given cells without copying them.
+	 * The caller must not modify the array afterwards.
+	 * @param cells The cells of the row indexed by column number.
+	 * @return The row as a read-only map keyed by header.
+	 */
+	public DataRow row(String[] cells) {
+		return new DataRow(this, cells);
+	}
+
+	/**
+	 * Get the number of distinct headers.
+	 * @return The number of headers.
+	 */
+	public int size() {
+		return headers.length;
+	}
+
+	/**
+	 * Get a header by position.
+	 * @param position The position of the header.
+	 * @return The header name.
+	 */
+	public String getHeader(int position) {
+		return headers[position];
+	}
+
+	/**
+	 * Get the column number of a header by position.
+	 * @param position The position of the header.
+	 * @return The column number.
+	 */
+	public int getColumn(int position) {
+		return columns[position];
+	}
+
+	/**
+	 * Get the column number of a header.
+	 * @param header The header name.
+	 * @return The column number, or -1 if the header does not exist.
+	 */
+	public int getColumn(Object header) {
+		Integer position = positions.get(header);
+		return position == null ? -1 : columns[position];
+	}
+}
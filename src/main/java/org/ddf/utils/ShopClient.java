@@ -0,0 +1,166 @@
+package org.ddf.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ddf.configurations.configManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * This class sets up the state of the shop over HTTP with the session of a browser, so that tests only use the UI
+ * for what they verify. Every request sends the current cookies of the browser, and cookies set by the shop are
+ * copied back into the browser, so both stay on the same session. Redirects are followed here rather than by the
+ * HTTP client, so that cookies set by a redirect response are kept and sent with the next request.
+ */
+public class ShopClient {
+	private static final Logger log = LogManager.getLogger(ShopClient.class);
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	private static final int MAX_REDIRECTS = 5;
+	private static final HttpClient CLIENT = HttpClient.newBuilder()
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+	private static final String CART_PATH = "cart";
+	private static final Pattern CART_ITEM = Pattern.compile("<input[^>]*name=\"removefromcart\"[^>]*value=\"(\\d+)\"");
+
+	private final WebDriver driver;
+	private final URI baseUri;
+
+	/**
+	 * Constructor for the ShopClient class.
+	 * @param driver The WebDriver instance whose session is used, with a page of the shop open.
+	 */
+	public ShopClient(WebDriver driver) {
+		this.driver = driver;
+		this.baseUri = URI.create(configManager.getConfiguration().getBaseUrl());
+	}
+
+	/**
+	 * Get the ids of the items in the shopping cart.
+	 * @return The cart item ids, empty if the cart is empty.
+	 */
+	public List<String> getCartItemIds() {
+		String page = send(request(CART_PATH).GET()).body();
+		List<String> itemIds = new ArrayList<>();
+		Matcher matcher = CART_ITEM.matcher(page);
+		while (matcher.find()) {
+			itemIds.add(matcher.group(1));
+		}
+		return itemIds;
+	}
+
+	/**
+	 * Remove every item from the shopping cart with a single update of the cart.
+	 */
+	public void emptyCart() {
+		List<String> itemIds = getCartItemIds();
+		if (itemIds.isEmpty()) {
+			return;
+		}
+		String form = itemIds.stream().map(id -> "removefromcart=" + id).collect(Collectors.joining("&")) + "&updatecart=" + encode("Update shopping cart");
+		send(request(CART_PATH)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)));
+		log.info("Removed {} items from the cart", itemIds.size());
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return request(baseUri.resolve(path));
+	}
+
+	private HttpRequest.Builder request(URI uri) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT);
+		if (!isShop(uri)) {
+			return builder;
+		}
+		String cookies = driver.manage().getCookies().stream()
+				.map(cookie -> cookie.getName() + "=" + cookie.getValue())
+				.collect(Collectors.joining("; "));
+		return cookies.isEmpty() ? builder : builder.header("Cookie", cookies);
+	}
+
+	private HttpResponse<String> send(HttpRequest.Builder builder) {
+		HttpRequest request = builder.build();
+		try {
+			for (int redirects = 0; ; redirects++) {
+				HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+				copyCookiesToBrowser(response);
+				Optional<String> location = response.headers().firstValue("Location");
+				if (!isRedirect(response.statusCode()) || location.isEmpty()) {
+					if (response.statusCode() >= 400) {
+						throw new IllegalStateException(request.method() + " " + request.uri() + " failed with status " + response.statusCode());
+					}
+					return response;
+				}
+				if (redirects == MAX_REDIRECTS) {
+					throw new IllegalStateException(request.method() + " " + request.uri() + " was redirected too many times");
+				}
+				request = redirect(request, response.statusCode(), request.uri().resolve(location.get()));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to send " + request.method() + " " + request.uri(), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while sending " + request.method() + " " + request.uri(), e);
+		}
+	}
+
+	/**
+	 * Build the request following a redirect, with the cookies of the browser as they are after the redirect.
+	 * 307 and 308 repeat the request, the other redirects continue with a GET request.
+	 */
+	private HttpRequest redirect(HttpRequest request, int status, URI location) {
+		HttpRequest.Builder builder = request(location);
+		if (status == 307 || status == 308) {
+			request.headers().firstValue("Content-Type").ifPresent(contentType -> builder.header("Content-Type", contentType));
+			builder.method(request.method(), request.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody()));
+		} else {
+			builder.GET();
+		}
+		return builder.build();
+	}
+
+	private static boolean isRedirect(int status) {
+		return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+	}
+
+	private boolean isShop(URI uri) {
+		return baseUri.getHost() != null && baseUri.getHost().equalsIgnoreCase(uri.getHost());
+	}
+
+	private void copyCookiesToBrowser(HttpResponse<String> response) {
+		if (!isShop(response.uri())) {
+			return;
+		}
+		for (String header : response.headers().allValues("Set-Cookie")) {
+			for (HttpCookie cookie : HttpCookie.parse(header)) {
+				if (cookie.getMaxAge() == 0) {
+					driver.manage().deleteCookieNamed(cookie.getName());
+				} else {
+					driver.manage().addCookie(new Cookie(cookie.getName(), cookie.getValue(), cookie.getPath() != null ? cookie.getPath() : "/"));
+				}
+			}
+		}
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
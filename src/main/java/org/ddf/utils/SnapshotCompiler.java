@@ -0,0 +1,341 @@
+package org.ddf.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.ddf.configurations.GlobalVariables;
+
+/**
+ * This class compiles a test data workbook into the binary snapshot format read by {@link WorkbookSnapshot}.
+ * <p>
+ * Layout (big endian): a 28 byte header (magic, version, workbook checksum, string count, sheet count,
+ * string table position), a sheet table of {name id, header count, data row count, header position,
+ * row offsets position} per sheet, then per sheet the interned header ids, the row offsets and the cell ids,
+ * and finally the string pool offsets followed by the UTF-8 string bytes.
+ * <p>
+ * Rows keep their position in the sheet: blank rows are stored as rows without cells, so row numbers match the
+ * row numbers of the workbook.
+ * <p>
+ * The workbook is streamed row by row and the rows and strings are spooled to temporary files as they are read, so
+ * the heap used while compiling does not grow with the workbook. Only the sheet table, the header row of every sheet
+ * and the ids of the last {@value #MAX_INTERNED} distinct strings are kept in memory; a string that was evicted
+ * from the intern cache is stored again under a new id.
+ */
+public class SnapshotCompiler implements GlobalVariables {
+
+	static final int MAGIC = 0x44444653;
+	static final int VERSION = 2;
+	static final int HEADER_SIZE = 28;
+	static final int SHEET_ENTRY_SIZE = 20;
+
+	private static final Logger log = LogManager.getLogger(SnapshotCompiler.class);
+	private static final int MAX_INTERNED = 65536;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Map<String, Integer> stringPool = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+			return size() > MAX_INTERNED;
+		}
+	};
+	private final List<Sheet> sheets = new ArrayList<>();
+	private final DataOutputStream rows;
+	private final DataOutputStream stringOffsets;
+	private final DataOutputStream strings;
+	private int stringCount;
+	private long stringBytes;
+	private long rowBytes;
+	private IOException spoolError;
+
+	private SnapshotCompiler(Path rowsFile, Path stringOffsetsFile, Path stringsFile) throws IOException {
+		this.rows = output(rowsFile);
+		this.stringOffsets = output(stringOffsetsFile);
+		this.strings = output(stringsFile);
+	}
+
+	/**
+	 * Get the path of the snapshot compiled for a workbook.
+	 * @param workbookPath The path of the Excel file.
+	 * @return The path of the snapshot file.
+	 */
+	public static Path getSnapshotPath(String workbookPath) {
+		return Paths.get(SNAPSHOT_FOLDER, Paths.get(workbookPath).getFileName() + SNAPSHOT_EXTENSION);
+	}
+
+	/**
+	 * Calculate the CRC32 checksum of a workbook.
+	 * @param workbookPath The path of the Excel file.
+	 * @return The checksum of the file content.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public static long checksum(String workbookPath) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[8192];
+		try (InputStream stream = Files.newInputStream(Paths.get(workbookPath))) {
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Parse a workbook and compile it into a snapshot file, replacing it atomically so readers never see a partial
+	 * snapshot. The snapshot file is left unchanged if the workbook cannot be read.
+	 * @param workbookPath The path of the Excel file.
+	 * @param checksum The checksum of the workbook, stored in the snapshot header.
+	 * @param snapshotPath The path of the snapshot file.
+	 * @throws IOException If the workbook cannot be read or the snapshot cannot be written.
+	 */
+	public static void compile(String workbookPath, long checksum, Path snapshotPath) throws IOException {
+		Path folder = snapshotPath.toAbsolutePath().getParent();
+		Files.createDirectories(folder);
+		String prefix = snapshotPath.getFileName().toString();
+		List<Path> tempFiles = new ArrayList<>();
+		try {
+			for (String suffix : new String[]{".rows", ".offsets", ".strings", ".tmp"}) {
+				tempFiles.add(Files.createTempFile(folder, prefix, suffix));
+			}
+			SnapshotCompiler compiler = new SnapshotCompiler(tempFiles.get(0), tempFiles.get(1), tempFiles.get(2));
+			try {
+				compiler.read(workbookPath);
+			} finally {
+				compiler.close();
+			}
+			compiler.write(checksum, tempFiles.get(0), tempFiles.get(1), tempFiles.get(2), tempFiles.get(3));
+			Files.move(tempFiles.get(3), snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			for (Path tempFile : tempFiles) {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+		log.info("Compiled test data snapshot: {}", snapshotPath);
+	}
+
+	/**
+	 * Compile a workbook into its snapshot file, replacing any previous snapshot.
+	 * @param workbookPath The path of the Excel file.
+	 * @return The path of the snapshot file.
+	 * @throws IOException If the workbook cannot be read or the snapshot cannot be written.
+	 */
+	public static Path compileToFile(String workbookPath) throws IOException {
+		Path snapshotPath = getSnapshotPath(workbookPath);
+		compile(workbookPath, checksum(workbookPath), snapshotPath);
+		return snapshotPath;
+	}
+
+	private static DataOutputStream output(Path file) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+	}
+
+	private static DataInputStream input(Path file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+	}
+
+	/**
+	 * Stream the rows of every sheet into the spool files.
+	 */
+	private void read(String workbookPath) throws IOException {
+		boolean read = new ExcelStreamReader(workbookPath).readWorkbook(this::startSheet);
+		if (spoolError != null) {
+			throw spoolError;
+		}
+		if (!read) {
+			throw new IOException("Failed to read test data workbook: " + workbookPath);
+		}
+	}
+
+	private ExcelStreamReader.RowHandler startSheet(String sheetName) {
+		if (spoolError != null) {
+			return (rowNumb, cells) -> false;
+		}
+		Sheet sheet;
+		try {
+			sheet = new Sheet(intern(sheetName), rowBytes);
+		} catch (IOException e) {
+			spoolError = e;
+			return (rowNumb, cells) -> false;
+		}
+		sheets.add(sheet);
+		return (rowNumb, cells) -> {
+			try {
+				// Blank rows are not reported by the reader, keep their positions
+				while (sheet.rowCount < rowNumb) {
+					addRow(sheet, new int[0]);
+				}
+				int[] ids = new int[cells.size()];
+				for (int i = 0; i < ids.length; i++) {
+					ids[i] = intern(cells.get(i));
+				}
+				addRow(sheet, ids);
+				return true;
+			} catch (IOException e) {
+				spoolError = e;
+				return false;
+			}
+		};
+	}
+
+	private void addRow(Sheet sheet, int[] ids) throws IOException {
+		if (sheet.rowCount == 0) {
+			sheet.header = ids;
+		}
+		rows.writeInt(ids.length);
+		for (int id : ids) {
+			rows.writeInt(id);
+		}
+		rowBytes += (ids.length + 1L) * Integer.BYTES;
+		sheet.rowCount++;
+		sheet.cellCount += ids.length;
+	}
+
+	private int intern(String value) throws IOException {
+		Integer id = stringPool.get(value);
+		if (id != null) {
+			return id;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		stringOffsets.writeInt(checkPosition(stringBytes));
+		strings.write(bytes);
+		stringBytes += bytes.length;
+		stringPool.put(value, stringCount);
+		return stringCount++;
+	}
+
+	private void close() throws IOException {
+		try (rows; stringOffsets; strings) {
+			rows.flush();
+			stringOffsets.flush();
+			strings.flush();
+		}
+	}
+
+	/**
+	 * Write the snapshot from the spool files, reading the rows of every sheet twice: once for the row offsets and
+	 * once for the cell ids.
+	 */
+	private void write(long checksum, Path rowsFile, Path stringOffsetsFile, Path stringsFile, Path snapshotFile) throws IOException {
+		// Work out where every section starts before writing it
+		long position = HEADER_SIZE + (long) sheets.size() * SHEET_ENTRY_SIZE;
+		for (Sheet sheet : sheets) {
+			int dataRows = Math.max(sheet.rowCount - 1, 0);
+			sheet.headerPosition = checkPosition(position);
+			sheet.rowOffsetsPosition = checkPosition(position + (long) sheet.header.length * Integer.BYTES);
+			position = sheet.rowOffsetsPosition + (dataRows + 1L) * Integer.BYTES + (sheet.cellCount - sheet.header.length) * Integer.BYTES;
+		}
+		int stringTablePosition = checkPosition(position);
+		checkPosition(position + (stringCount + 1L) * Integer.BYTES + stringBytes);
+
+		try (DataOutputStream out = output(snapshotFile)) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(checksum);
+			out.writeInt(stringCount);
+			out.writeInt(sheets.size());
+			out.writeInt(stringTablePosition);
+			for (Sheet sheet : sheets) {
+				out.writeInt(sheet.nameId);
+				out.writeInt(sheet.header.length);
+				out.writeInt(Math.max(sheet.rowCount - 1, 0));
+				out.writeInt(sheet.headerPosition);
+				out.writeInt(sheet.rowOffsetsPosition);
+			}
+			for (Sheet sheet : sheets) {
+				writeSheet(out, sheet, rowsFile);
+			}
+			try (DataInputStream in = input(stringOffsetsFile)) {
+				in.transferTo(out);
+			}
+			out.writeInt((int) stringBytes);
+			try (DataInputStream in = input(stringsFile)) {
+				in.transferTo(out);
+			}
+		}
+	}
+
+	private void writeSheet(DataOutputStream out, Sheet sheet, Path rowsFile) throws IOException {
+		for (int id : sheet.header) {
+			out.writeInt(id);
+		}
+		int dataRows = Math.max(sheet.rowCount - 1, 0);
+		int cellPosition = sheet.rowOffsetsPosition + (dataRows + 1) * Integer.BYTES;
+		try (DataInputStream in = input(rowsFile)) {
+			in.skipNBytes(sheet.rowsStart);
+			for (int i = 0; i < sheet.rowCount; i++) {
+				int cells = in.readInt();
+				in.skipNBytes((long) cells * Integer.BYTES);
+				if (i > 0) {
+					out.writeInt(cellPosition);
+					cellPosition += cells * Integer.BYTES;
+				}
+			}
+		}
+		out.writeInt(cellPosition);
+		try (DataInputStream in = input(rowsFile)) {
+			in.skipNBytes(sheet.rowsStart);
+			for (int i = 0; i < sheet.rowCount; i++) {
+				int cells = in.readInt();
+				if (i == 0) {
+					in.skipNBytes((long) cells * Integer.BYTES);
+					continue;
+				}
+				for (int j = 0; j < cells; j++) {
+					out.writeInt(in.readInt());
+				}
+			}
+		}
+	}
+
+	private static int checkPosition(long position) throws IOException {
+		if (position > Integer.MAX_VALUE) {
+			throw new IOException("Test data workbook is too large for a snapshot, it would exceed 2 GB");
+		}
+		return (int) position;
+	}
+
+	/**
+	 * The sheet table entry of a sheet and where its rows start in the rows spool file.
+	 */
+	private static final class Sheet {
+		private final int nameId;
+		private final long rowsStart;
+		private int[] header = new int[0];
+		private int rowCount;
+		private long cellCount;
+		private int headerPosition;
+		private int rowOffsetsPosition;
+
+		private Sheet(int nameId, long rowsStart) {
+			this.nameId = nameId;
+			this.rowsStart = rowsStart;
+		}
+	}
+
+	/**
+	 * Main method used as a build step to compile the configured workbook ahead of the test run.
+	 * @param args Command line arguments, optionally the path of the workbook to compile.
+	 * @throws Exception If an exception occurs.
+	 */
+	public static void main(String[] args) throws Exception {
+		String workbookPath = args.length > 0 ? args[0] : DATA_FOLDER + WORKBOOK;
+		compileToFile(workbookPath);
+	}
+}
@@ -0,0 +1,34 @@
+package org.ddf.utils;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps one parsed {@link WorkbookSnapshot} per workbook for the whole JVM,
+ * so the test executor and every data provider share a single parse of the test data.
+ */
+public class TestDataCache {
+
+	private static final Map<String, WorkbookSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+	private TestDataCache() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Get the snapshot of a workbook, loading it only if it was not loaded yet or the file was modified since.
+	 * Reading a cached snapshot does not take any lock.
+	 * @param workbookPath The path of the Excel file.
+	 * @return The snapshot of the workbook.
+	 */
+	public static WorkbookSnapshot getSnapshot(String workbookPath) {
+		String key = new File(workbookPath).getAbsolutePath();
+		long lastModified = new File(key).lastModified();
+		WorkbookSnapshot snapshot = SNAPSHOTS.get(key);
+		if (snapshot != null && snapshot.getLastModified() == lastModified) {
+			return snapshot;
+		}
+		return SNAPSHOTS.compute(key, (path, current) -> current != null && current.getLastModified() == lastModified ? current : WorkbookSnapshot.load(path, lastModified));
+	}
+}
@@ -0,0 +1,96 @@
+package org.ddf.utils;
+
+import static org.ddf.configurations.GlobalVariables.RUN_MODE_YES;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * This interface is the read-only view of test data used by the test executor and the data providers.
+ * Data is organised in sheets; row 0 of each sheet holds the column headers and the following rows hold the data.
+ * Implementations are looked up by file extension through {@link TestDataSources} and must be safe for
+ * concurrent readers.
+ */
+public interface TestDataSource {
+
+	/**
+	 * Get the number of rows in a specific sheet, including the header row.
+	 * @param sheetName The name of the sheet.
+	 * @return The number of rows in the sheet.
+	 */
+	int getNumberOfRows(String sheetName);
+
+	/**
+	 * Get the data from a specific cell in a sheet.
+	 * @param rowNumb The row number.
+	 * @param colNumb The column number.
+	 * @param sheetName The name of the sheet.
+	 * @return The data in the cell as a string, or "" if the cell does not exist.
+	 */
+	String getCellData(int rowNumb, int colNumb, String sheetName);
+
+	/**
+	 * Get data from a specific row in a sheet as a map.
+	 * @param sheetName The name of the sheet.
+	 * @param row The row number.
+	 * @return A read-only map of data with column headers as keys.
+	 * @throws IllegalArgumentException if the sheet or the row does not exist.
+	 */
+	Map<String, String> getData(String sheetName, int row);
+
+	/**
+	 * Get a list of test scenarios to run based on the run mode column.
+	 * @param sheetName The name of the sheet.
+	 * @param runModeColumn The column number for the run mode.
+	 * @param testCaseColumn The column number for the test case.
+	 * @return A list of test scenarios to run.
+	 */
+	default List<String> getScenariosToRun(String sheetName, int runModeColumn, int testCaseColumn) {
+		List<String> testList = new ArrayList<>();
+		int rowCount = getNumberOfRows(sheetName);
+		for (int i = 1; i < rowCount; i++) {
+			if (getCellData(i, runModeColumn, sheetName).equalsIgnoreCase(RUN_MODE_YES)) {
+				testList.add(getCellData(i, testCaseColumn, sheetName).trim());
+			}
+		}
+		return testList;
+	}
+
+	/**
+	 * Iterate over the data rows of a sheet, reading each row only when it is requested.
+	 * Sources that reload changed data must keep a running iteration on the data it started on.
+	 * @param sheetName The name of the sheet.
+	 * @return An iterator over the data rows, skipping the header row and blank rows.
+	 */
+	default Iterator<Map<String, String>> rows(String sheetName) {
+		int rowCount = getNumberOfRows(sheetName);
+		return new Iterator<>() {
+			private int row = 1;
+			private Map<String, String> next;
+
+			@Override
+			public boolean hasNext() {
+				while (next == null && row < rowCount) {
+					Map<String, String> data = getData(sheetName, row++);
+					if (!data.values().stream().allMatch(String::isBlank)) {
+						next = data;
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public Map<String, String> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more test data in sheet: " + sheetName);
+				}
+				Map<String, String> data = next;
+				next = null;
+				return data;
+			}
+		};
+	}
+}
@@ -0,0 +1,23 @@
+package org.ddf.utils;
+
+/**
+ * Service provider interface for additional test data formats.
+ * Implementations are discovered with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/org.ddf.utils.TestDataSourceProvider} and take precedence over the built-in formats.
+ */
+public interface TestDataSourceProvider {
+
+	/**
+	 * Check whether this provider reads files with the given extension.
+	 * @param extension The lower case file extension without the dot, e.g. "csv".
+	 * @return true if the provider supports the extension, false otherwise.
+	 */
+	boolean supports(String extension);
+
+	/**
+	 * Open the test data at the given path.
+	 * @param dataPath The absolute path of the test data.
+	 * @return The data source reading the test data.
+	 */
+	TestDataSource open(String dataPath);
+}
@@ -0,0 +1,109 @@
+package org.ddf.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * This class opens test data sources by file extension and shares each source across the JVM.
+ * Built-in formats are xlsx (through the {@link TestDataCache} snapshot), csv and jsonl; providers registered
+ * through {@link TestDataSourceProvider} are consulted first.
+ */
+public class TestDataSources {
+
+	private static final Map<String, TestDataSource> SOURCES = new ConcurrentHashMap<>();
+	private static final List<TestDataSourceProvider> PROVIDERS = loadProviders();
+
+	private TestDataSources() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Get the data source for the given test data path.
+	 * @param dataPath The path of the test data, its extension selects the format.
+	 * @return The shared data source.
+	 * @throws IllegalArgumentException if no provider supports the extension.
+	 */
+	public static TestDataSource open(String dataPath) {
+		String key = new File(dataPath).getAbsolutePath();
+		TestDataSource source = SOURCES.get(key);
+		return source != null ? source : SOURCES.computeIfAbsent(key, TestDataSources::create);
+	}
+
+	private static TestDataSource create(String dataPath) {
+		String fileName = new File(dataPath).getName();
+		String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+		for (TestDataSourceProvider provider : PROVIDERS) {
+			if (provider.supports(extension)) {
+				return provider.open(dataPath);
+			}
+		}
+		throw new IllegalArgumentException("Unsupported test data format: " + dataPath);
+	}
+
+	private static List<TestDataSourceProvider> loadProviders() {
+		List<TestDataSourceProvider> providers = new ArrayList<>();
+		ServiceLoader.load(TestDataSourceProvider.class).forEach(providers::add);
+		providers.add(provider("xlsx", ExcelDataSource::new));
+		providers.add(provider("csv", CsvDataSource::new));
+		providers.add(provider("jsonl", JsonLinesDataSource::new));
+		return providers;
+	}
+
+	private static TestDataSourceProvider provider(String supportedExtension, Function<String, TestDataSource> factory) {
+		return new TestDataSourceProvider() {
+			@Override
+			public boolean supports(String extension) {
+				return supportedExtension.equals(extension);
+			}
+
+			@Override
+			public TestDataSource open(String dataPath) {
+				return factory.apply(dataPath);
+			}
+		};
+	}
+
+	/**
+	 * Reads an Excel workbook through the shared snapshot, picking up a new snapshot when the workbook changes.
+	 */
+	private static final class ExcelDataSource implements TestDataSource {
+		private final String workbookPath;
+
+		private ExcelDataSource(String workbookPath) {
+			this.workbookPath = workbookPath;
+		}
+
+		@Override
+		public int getNumberOfRows(String sheetName) {
+			return TestDataCache.getSnapshot(workbookPath).getNumberOfRows(sheetName);
+		}
+
+		@Override
+		public String getCellData(int rowNumb, int colNumb, String sheetName) {
+			return TestDataCache.getSnapshot(workbookPath).getCellData(rowNumb, colNumb, sheetName);
+		}
+
+		@Override
+		public Map<String, String> getData(String sheetName, int row) {
+			return TestDataCache.getSnapshot(workbookPath).getData(sheetName, row);
+		}
+
+		@Override
+		public List<String> getScenariosToRun(String sheetName, int runModeColumn, int testCaseColumn) {
+			return TestDataCache.getSnapshot(workbookPath).getScenariosToRun(sheetName, runModeColumn, testCaseColumn);
+		}
+
+		@Override
+		public Iterator<Map<String, String>> rows(String sheetName) {
+			// Keep iterating the snapshot the rows were counted in, even if the workbook changes meanwhile
+			return TestDataCache.getSnapshot(workbookPath).rows(sheetName);
+		}
+	}
+}
@@ -0,0 +1,290 @@
+package org.ddf.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.ddf.configurations.GlobalVariables;
+
+/**
+ * This class holds an immutable, fully parsed copy of a test data workbook.
+ * The data lives in the binary format written by {@link SnapshotCompiler}, memory-mapped from the snapshot file
+ * when one is available. The buffer is only read with absolute gets and decoded strings are published through
+ * immutable String instances, so it can be read from any thread without locking.
+ */
+public final class WorkbookSnapshot implements GlobalVariables, TestDataSource {
+
+	private static final Logger log = LogManager.getLogger(WorkbookSnapshot.class);
+
+	private final String workbookPath;
+	private final long lastModified;
+	private final ByteBuffer buffer;
+	private final int stringTablePosition;
+	private final int stringDataPosition;
+	private final String[] strings;
+	private final Map<String, Sheet> sheets;
+
+	private WorkbookSnapshot(String workbookPath, long lastModified, ByteBuffer buffer) {
+		validate(buffer);
+		this.workbookPath = workbookPath;
+		this.lastModified = lastModified;
+		this.buffer = buffer;
+		int stringCount = buffer.getInt(16);
+		int sheetCount = buffer.getInt(20);
+		this.stringTablePosition = buffer.getInt(24);
+		this.stringDataPosition = stringTablePosition + (stringCount + 1) * Integer.BYTES;
+		this.strings = new String[stringCount];
+		Map<String, Sheet> sheetIndex = new HashMap<>();
+		for (int i = 0; i < sheetCount; i++) {
+			int entry = SnapshotCompiler.HEADER_SIZE + i * SnapshotCompiler.SHEET_ENTRY_SIZE;
+			int headerCount = buffer.getInt(entry + 4);
+			int headerPosition = buffer.getInt(entry + 12);
+			List<String> headers = new ArrayList<>(headerCount);
+			for (int column = 0; column < headerCount; column++) {
+				headers.add(getString(buffer.getInt(headerPosition + column * Integer.BYTES)));
+			}
+			sheetIndex.put(getString(buffer.getInt(entry)), new Sheet(headerCount, buffer.getInt(entry + 8), headerPosition, buffer.getInt(entry + 16), RowSchema.of(headers)));
+		}
+		this.sheets = Collections.unmodifiableMap(sheetIndex);
+	}
+
+	/**
+	 * Check that every position and string id of a snapshot lies inside the buffer, so that a truncated or
+	 * otherwise corrupt snapshot file is rejected when it is loaded instead of failing on a later read.
+	 * @param buffer The snapshot buffer.
+	 * @throws IllegalStateException if the snapshot is corrupt.
+	 */
+	private static void validate(ByteBuffer buffer) {
+		int size = buffer.capacity();
+		check(size >= SnapshotCompiler.HEADER_SIZE, "the file is shorter than the header");
+		check(buffer.getInt(0) == SnapshotCompiler.MAGIC && buffer.getInt(4) == SnapshotCompiler.VERSION, "unknown format");
+		long stringCount = buffer.getInt(16);
+		long sheetCount = buffer.getInt(20);
+		long stringTablePosition = buffer.getInt(24);
+		long sheetTableEnd = SnapshotCompiler.HEADER_SIZE + sheetCount * SnapshotCompiler.SHEET_ENTRY_SIZE;
+		check(stringCount >= 0 && sheetCount >= 0 && sheetTableEnd <= stringTablePosition, "invalid sheet table");
+		long stringDataPosition = stringTablePosition + (stringCount + 1) * Integer.BYTES;
+		check(stringDataPosition <= size, "the string table is truncated");
+
+		// String offsets must be ascending and the last one must end exactly at the end of the file
+		int previous = 0;
+		for (int id = 0; id <= stringCount; id++) {
+			int offset = buffer.getInt((int) stringTablePosition + id * Integer.BYTES);
+			check(offset >= previous, "invalid string offset");
+			previous = offset;
+		}
+		check(stringDataPosition + previous == size, "the file length does not match the string table");
+
+		for (int i = 0; i < sheetCount; i++) {
+			int entry = SnapshotCompiler.HEADER_SIZE + i * SnapshotCompiler.SHEET_ENTRY_SIZE;
+			checkId(buffer.getInt(entry), stringCount);
+			long headerCount = buffer.getInt(entry + 4);
+			long rowCount = buffer.getInt(entry + 8);
+			long headerPosition = buffer.getInt(entry + 12);
+			long rowOffsetsPosition = buffer.getInt(entry + 16);
+			check(headerCount >= 0 && rowCount >= 0 && headerPosition >= sheetTableEnd, "invalid sheet entry");
+			check(headerPosition + headerCount * Integer.BYTES <= rowOffsetsPosition, "invalid header position");
+			long cellsPosition = rowOffsetsPosition + (rowCount + 1) * Integer.BYTES;
+			check(cellsPosition <= stringTablePosition, "invalid row offsets position");
+			for (int column = 0; column < headerCount; column++) {
+				checkId(buffer.getInt((int) headerPosition + column * Integer.BYTES), stringCount);
+			}
+			int rowPosition = buffer.getInt((int) rowOffsetsPosition);
+			check(rowPosition == cellsPosition, "invalid row offset");
+			for (int row = 1; row <= rowCount; row++) {
+				int rowEnd = buffer.getInt((int) rowOffsetsPosition + row * Integer.BYTES);
+				check(rowEnd >= rowPosition && rowEnd <= stringTablePosition && (rowEnd - rowPosition) % Integer.BYTES == 0, "invalid row offset");
+				for (int cell = rowPosition; cell < rowEnd; cell += Integer.BYTES) {
+					checkId(buffer.getInt(cell), stringCount);
+				}
+				rowPosition = rowEnd;
+			}
+		}
+	}
+
+	private static void checkId(int id, long stringCount) {
+		check(id >= 0 && id < stringCount, "invalid string id " + id);
+	}
+
+	private static void check(boolean valid, String reason) {
+		if (!valid) {
+			throw new IllegalStateException("Test data snapshot is corrupt: " + reason);
+		}
+	}
+
+	/**
+	 * Load the snapshot of a workbook, memory-mapping the compiled snapshot file when its checksum
+	 * matches the workbook and compiling a new one otherwise.
+	 * @param workbookPath The path of the Excel file.
+	 * @param lastModified The modification time of the file the snapshot was taken from.
+	 * @return The loaded snapshot.
+	 */
+	static WorkbookSnapshot load(String workbookPath, long lastModified) {
+		try {
+			long checksum = SnapshotCompiler.checksum(workbookPath);
+			Path snapshotPath = SnapshotCompiler.getSnapshotPath(workbookPath);
+			if (Files.exists(snapshotPath)) {
+				try {
+					ByteBuffer mapped = map(snapshotPath);
+					if (mapped.capacity() >= SnapshotCompiler.HEADER_SIZE && mapped.getInt(0) == SnapshotCompiler.MAGIC
+							&& mapped.getInt(4) == SnapshotCompiler.VERSION && mapped.getLong(8) == checksum) {
+						WorkbookSnapshot snapshot = new WorkbookSnapshot(workbookPath, lastModified, mapped);
+						log.info("Mapped test data snapshot: {}", snapshotPath);
+						return snapshot;
+					}
+					log.info("Test data snapshot is out of date: {}", snapshotPath);
+				} catch (IOException | IllegalStateException exp) {
+					log.warn("Failed to map test data snapshot, compiling it again: {}", snapshotPath, exp);
+				}
+			}
+			try {
+				SnapshotCompiler.compile(workbookPath, checksum, snapshotPath);
+				return new WorkbookSnapshot(workbookPath, lastModified, map(snapshotPath));
+			} catch (IOException exp) {
+				// Only a snapshot folder that cannot be written is worked around, a workbook that cannot be read fails
+				Path folder = snapshotPath.toAbsolutePath().getParent();
+				if (Files.isDirectory(folder) && Files.isWritable(folder)) {
+					throw exp;
+				}
+				log.error("Failed to write test data snapshot, compiling it into a temporary file: {}", snapshotPath, exp);
+			}
+			Path tempPath = Files.createTempFile("ddf-snapshot-", SNAPSHOT_EXTENSION);
+			tempPath.toFile().deleteOnExit();
+			SnapshotCompiler.compile(workbookPath, checksum, tempPath);
+			return new WorkbookSnapshot(workbookPath, lastModified, map(tempPath));
+		} catch (IOException exp) {
+			throw new IllegalStateException("Failed to load test data workbook: " + workbookPath, exp);
+		}
+	}
+
+	private static ByteBuffer map(Path snapshotPath) throws IOException {
+		try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Get the path of the workbook this snapshot was taken from.
+	 * @return The path of the Excel file.
+	 */
+	public String getWorkbookPath() {
+		return workbookPath;
+	}
+
+	/**
+	 * Get the modification time of the workbook this snapshot was taken from.
+	 * @return The modification time in milliseconds.
+	 */
+	public long getLastModified() {
+		return lastModified;
+	}
+
+	/**
+	 * Get the number of rows in a specific sheet.
+	 * @param sheetName The name of the sheet.
+	 * @return The number of rows in the sheet.
+	 */
+	public int getNumberOfRows(String sheetName) {
+		Sheet sheet = getSheet(sheetName);
+		return sheet.headerCount == 0 && sheet.rowCount == 0 ? 0 : sheet.rowCount + 1;
+	}
+
+	/**
+	 * Get the data from a specific cell in a sheet.
+	 * @param rowNumb The row number.
+	 * @param colNumb The column number.
+	 * @param sheetName The name of the sheet.
+	 * @return The data in the cell as a string, or "" if the cell does not exist.
+	 */
+	public String getCellData(int rowNumb, int colNumb, String sheetName) {
+		Sheet sheet = getSheet(sheetName);
+		if (rowNumb < 0 || rowNumb > sheet.rowCount || colNumb < 0 || colNumb >= getCellCount(sheet, rowNumb)) {
+			return "";
+		}
+		return getString(buffer.getInt(getRowPosition(sheet, rowNumb) + colNumb * Integer.BYTES));
+	}
+
+	/**
+	 * Get data from a specific row in a sheet as a map.
+	 * @param sheetName The name of the sheet.
+	 * @param row The row number.
+	 * @return A read-only map of data with column headers as keys, sharing the header schema of the sheet.
+	 * @throws IllegalArgumentException if the sheet or the row does not exist.
+	 */
+	public Map<String, String> getData(String sheetName, int row) {
+		Sheet sheet = getSheet(sheetName);
+		if (row < 0 || row > sheet.rowCount) {
+			throw new IllegalArgumentException("Row " + row + " was not found in sheet: " + sheetName);
+		}
+		int rowPosition = getRowPosition(sheet, row);
+		String[] cells = new String[getCellCount(sheet, row)];
+		for (int i = 0; i < cells.length; i++) {
+			cells[i] = getString(buffer.getInt(rowPosition + i * Integer.BYTES));
+		}
+		return sheet.schema.row(cells);
+	}
+
+	private int getCellCount(Sheet sheet, int rowNumb) {
+		if (rowNumb == 0) {
+			return sheet.headerCount;
+		}
+		int offset = sheet.rowOffsetsPosition + (rowNumb - 1) * Integer.BYTES;
+		return (buffer.getInt(offset + Integer.BYTES) - buffer.getInt(offset)) / Integer.BYTES;
+	}
+
+	private int getRowPosition(Sheet sheet, int rowNumb) {
+		return rowNumb == 0 ? sheet.headerPosition : buffer.getInt(sheet.rowOffsetsPosition + (rowNumb - 1) * Integer.BYTES);
+	}
+
+	private String getString(int id) {
+		String value = strings[id];
+		if (value == null) {
+			int offset = stringTablePosition + id * Integer.BYTES;
+			int start = buffer.getInt(offset);
+			byte[] bytes = new byte[buffer.getInt(offset + Integer.BYTES) - start];
+			buffer.get(stringDataPosition + start, bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+			strings[id] = value;
+		}
+		return value;
+	}
+
+	private Sheet getSheet(String sheetName) {
+		Sheet sheet = sheets.get(sheetName);
+		if (sheet == null) {
+			throw new IllegalArgumentException("Sheet was not found: " + sheetName);
+		}
+		return sheet;
+	}
+
+	/**
+	 * Positions of a sheet inside the snapshot buffer.
+	 */
+	private static final class Sheet {
+		private final int headerCount;
+		private final int rowCount;
+		private final int headerPosition;
+		private final int rowOffsetsPosition;
+		private final RowSchema schema;
+
+		private Sheet(int headerCount, int rowCount, int headerPosition, int rowOffsetsPosition, RowSchema schema) {
+			this.headerCount = headerCount;
+			this.rowCount = rowCount;
+			this.headerPosition = headerPosition;
+			this.rowOffsetsPosition = rowOffsetsPosition;
+			this.schema = schema;
+		}
+	}
+}
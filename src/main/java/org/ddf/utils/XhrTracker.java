@@ -0,0 +1,71 @@
+package org.ddf.utils;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+/**
+ * This class counts the running XMLHttpRequests of a page, for page-load waits of browsers without a
+ * {@link NetworkIdleWaiter}.
+ * <p>
+ * The counter is registered through DevTools to run in every new document before the scripts of the page, so requests
+ * started while the page loads are counted as well. Browsers without DevTools get the counter on the first check of
+ * a page instead, where jQuery.active still covers the jQuery requests started earlier.
+ */
+public final class XhrTracker {
+	private static final Logger log = LogManager.getLogger(XhrTracker.class);
+	private static final String INSTALL_SCRIPT = "(function (w) {"
+			+ " if (w.__ddfXhr) {"
+			+ "   return;"
+			+ " }"
+			+ " w.__ddfXhr = { active: 0 };"
+			+ " var send = XMLHttpRequest.prototype.send;"
+			+ " XMLHttpRequest.prototype.send = function () {"
+			+ "   w.__ddfXhr.active++;"
+			+ "   this.addEventListener('loadend', function () { w.__ddfXhr.active--; });"
+			+ "   return send.apply(this, arguments);"
+			+ " };"
+			+ "})(window);";
+	private static final String IDLE_SCRIPT = INSTALL_SCRIPT
+			+ " return document.readyState === 'complete' && (!window.jQuery || window.jQuery.active === 0) && window.__ddfXhr.active === 0;";
+
+	private XhrTracker() {
+		// Private constructor to prevent external instantiation
+	}
+
+	/**
+	 * Count the requests of every document the browser opens from now on.
+	 * @param driver The WebDriver instance.
+	 * @return true if the counter runs before the scripts of every page, false if it is only added on the first check.
+	 */
+	public static boolean install(WebDriver driver) {
+		if (!(driver instanceof HasDevTools)) {
+			return false;
+		}
+		try {
+			DevTools devTools = ((HasDevTools) driver).getDevTools();
+			devTools.createSessionIfThereIsNotOne();
+			devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT)));
+			return true;
+		} catch (WebDriverException e) {
+			log.warn("Request counter is added on the first check of every page: {}", e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Check whether the page has loaded and no jQuery or XHR request is running.
+	 * @param driver The WebDriver instance.
+	 * @return true if the page is idle, false otherwise.
+	 */
+	public static boolean isIdle(WebDriver driver) {
+		return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(IDLE_SCRIPT));
+	}
+}
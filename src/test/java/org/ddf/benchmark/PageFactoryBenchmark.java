@@ -0,0 +1,66 @@
+package org.ddf.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.ddf.configurations.GlobalVariables;
+import org.ddf.pages.BasePage;
+import org.ddf.pages.CartPage;
+import org.ddf.pages.CheckoutPage;
+import org.ddf.pages.OrderDetailsPage;
+import org.ddf.pages.PageElementBinder;
+import org.ddf.pages.ProductPage;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
+
+/**
+ * Benchmark for the element binding done when a page object is constructed.
+ * It compares the previous {@code PageFactory.initElements} call with an {@code AjaxElementLocatorFactory}, which
+ * reflects over the fields and annotations of the page on every construction, with {@link PageElementBinder}, which
+ * caches that metadata per page class. No browser is needed: the pages are bound to a stub driver and their elements
+ * are never used.
+ * Run the main method; each row of output reports element bindings per second for a page class.
+ */
+public class PageFactoryBenchmark implements GlobalVariables {
+
+	private static final long RUN_MILLIS = 2000;
+	private static final int TIMEOUT_SECONDS = 10;
+
+	/**
+	 * Main method running the benchmark.
+	 * @param args Command line arguments, not used.
+	 */
+	public static void main(String[] args) {
+		WebDriver driver = (WebDriver) java.lang.reflect.Proxy.newProxyInstance(PageFactoryBenchmark.class.getClassLoader(),
+				new Class<?>[] {WebDriver.class}, (proxy, method, arguments) -> null);
+		List<Function<WebDriver, BasePage>> pages = List.of(CartPage::new, CheckoutPage::new, OrderDetailsPage::new, ProductPage::new);
+
+		System.out.printf("%-20s %20s %20s%n", "page", "PageFactory ops/s", "cached ops/s");
+		for (Function<WebDriver, BasePage> constructor : pages) {
+			BasePage page = constructor.apply(driver);
+			Consumer<BasePage> pageFactory = target -> PageFactory.initElements(new AjaxElementLocatorFactory(driver, TIMEOUT_SECONDS), target);
+			Consumer<BasePage> cached = target -> PageElementBinder.bind(driver, TIMEOUT_SECONDS, target);
+
+			// Warm up both paths before measuring
+			run(page, pageFactory);
+			run(page, cached);
+
+			long before = run(page, pageFactory);
+			long after = run(page, cached);
+			System.out.printf("%-20s %20d %20d%n", page.getClass().getSimpleName(), before, after);
+		}
+	}
+
+	private static long run(BasePage page, Consumer<BasePage> bind) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+		long count = 0;
+		while (System.nanoTime() < deadline) {
+			bind.accept(page);
+			count++;
+		}
+		return count * 1000 / RUN_MILLIS;
+	}
+}
@@ -0,0 +1,65 @@
+package org.ddf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.ddf.configurations.PrefetchingDriverFactory;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Benchmark for the browser launch overlap of {@link PrefetchingDriverFactory}.
+ * No browser is needed: a stub driver takes {@value #LAUNCH_MILLIS} ms to launch, and every test holds its browser
+ * for {@value #TEST_MILLIS} ms. Launching on demand pays the launch time before every test, prefetching overlaps the
+ * launch of the next browser with the running test.
+ * Run the main method; the output reports the total time of the tests for both.
+ */
+public class PrefetchingDriverFactoryBenchmark {
+
+	private static final long LAUNCH_MILLIS = 300;
+	private static final long TEST_MILLIS = 300;
+	private static final int TESTS = 5;
+
+	/**
+	 * Main method running the benchmark.
+	 * @param args Command line arguments, optionally the prefetch depth.
+	 */
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+		Supplier<WebDriver> launch = () -> {
+			sleep(LAUNCH_MILLIS);
+			return (WebDriver) java.lang.reflect.Proxy.newProxyInstance(PrefetchingDriverFactoryBenchmark.class.getClassLoader(),
+					new Class<?>[] {WebDriver.class}, (proxy, method, arguments) -> null);
+		};
+
+		long onDemand = run(launch);
+		PrefetchingDriverFactory prefetcher = new PrefetchingDriverFactory(launch, depth);
+		long prefetched;
+		try {
+			prefetched = run(prefetcher::take);
+		} finally {
+			prefetcher.close();
+		}
+
+		System.out.printf("%d tests, %d ms launch, %d ms test%n", TESTS, LAUNCH_MILLIS, TEST_MILLIS);
+		System.out.printf("%-20s %10d ms%n", "on demand", onDemand);
+		System.out.printf("%-20s %10d ms%n", "prefetch depth " + depth, prefetched);
+	}
+
+	private static long run(Supplier<WebDriver> drivers) {
+		long start = System.nanoTime();
+		for (int i = 0; i < TESTS; i++) {
+			WebDriver driver = drivers.get();
+			sleep(TEST_MILLIS);
+			driver.quit();
+		}
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package org.ddf.benchmark;
+
+import java.io.FileInputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.ddf.configurations.GlobalVariables;
+import org.ddf.utils.TestDataSource;
+import org.ddf.utils.TestDataSources;
+
+/**
+ * Contention benchmark for test data reads under parallel test threads.
+ * It compares the previous access pattern (a shared monitor around every cell read of an XSSFWorkbook, resolving
+ * the sheet by name each time) with the {@link TestDataSource} the data providers use, which reads the workbook
+ * snapshot without locking.
+ * Run the main method; each row of output reports getData calls per second for a thread count.
+ */
+public class TestDataSourceBenchmark implements GlobalVariables {
+
+	private static final long RUN_MILLIS = 2000;
+	private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+	/**
+	 * Main method running the benchmark.
+	 * @param args Command line arguments, optionally the path of the workbook to read.
+	 * @throws Exception If an exception occurs.
+	 */
+	public static void main(String[] args) throws Exception {
+		String workbookPath = args.length > 0 ? args[0] : DATA_FOLDER + WORKBOOK;
+		try (FileInputStream excelFile = new FileInputStream(workbookPath); XSSFWorkbook excelWorkbook = new XSSFWorkbook(excelFile)) {
+			TestDataSource testData = TestDataSources.open(workbookPath);
+			Map<String, Integer> rowCounts = new HashMap<>();
+			for (int i = 0; i < excelWorkbook.getNumberOfSheets(); i++) {
+				String sheetName = excelWorkbook.getSheetAt(i).getSheetName();
+				rowCounts.put(sheetName, testData.getNumberOfRows(sheetName));
+			}
+
+			Object monitor = new Object();
+			BiFunction<String, Integer, Map<String, String>> synchronizedRead = (sheetName, row) -> {
+				Map<String, String> dataMap = new HashMap<>();
+				short lastColumn;
+				synchronized (monitor) {
+					lastColumn = excelWorkbook.getSheet(sheetName).getRow(row).getLastCellNum();
+				}
+				for (int i = 0; i < lastColumn; i++) {
+					synchronized (monitor) {
+						dataMap.put(readCell(excelWorkbook, sheetName, 0, i), readCell(excelWorkbook, sheetName, row, i));
+					}
+				}
+				return dataMap;
+			};
+			BiFunction<String, Integer, Map<String, String>> lockFreeRead = testData::getData;
+
+			// Warm up both paths before measuring
+			run(1, rowCounts, synchronizedRead);
+			run(1, rowCounts, lockFreeRead);
+
+			System.out.printf("%-8s %20s %20s%n", "threads", "synchronized ops/s", "lock-free ops/s");
+			for (int threads : THREAD_COUNTS) {
+				long before = run(threads, rowCounts, synchronizedRead);
+				long after = run(threads, rowCounts, lockFreeRead);
+				System.out.printf("%-8d %20d %20d%n", threads, before, after);
+			}
+		}
+	}
+
+	private static String readCell(XSSFWorkbook excelWorkbook, String sheetName, int rowNumb, int colNumb) {
+		try {
+			XSSFCell cell = excelWorkbook.getSheet(sheetName).getRow(rowNumb).getCell(colNumb);
+			if (cell.getCellType() == CellType.NUMERIC) {
+				cell.setCellType(CellType.STRING);
+			}
+			return cell.getStringCellValue();
+		} catch (Exception exp) {
+			return "";
+		}
+	}
+
+	private static long run(int threads, Map<String, Integer> rowCounts, BiFunction<String, Integer, Map<String, String>> read) throws InterruptedException {
+		LongAdder operations = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		long[] deadline = new long[1];
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+					long count = 0;
+					while (System.nanoTime() < deadline[0]) {
+						for (Map.Entry<String, Integer> sheet : rowCounts.entrySet()) {
+							for (int row = 1; row < sheet.getValue(); row++) {
+								read.apply(sheet.getKey(), row);
+								count++;
+							}
+						}
+					}
+					operations.add(count);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			});
+			worker.start();
+		}
+		deadline[0] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+		start.countDown();
+		done.await();
+		return operations.sum() * 1000 / RUN_MILLIS;
+	}
+}
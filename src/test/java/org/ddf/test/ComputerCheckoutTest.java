@@ -1,5 +1,6 @@
 package org.ddf.test;
 
+import java.util.Iterator;
 import java.util.Map;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.DataProvider;
@@ -63,11 +64,11 @@ public class ComputerCheckoutTest extends TestBase {
     /**
      * This method provides the test data for the Computer Checkout Test.
      *
-     * @return The test data as a 2D array.
+     * @return An iterator over the test data rows.
      */
     @DataProvider(name = "testData")
-    public Object[][] testData() {
-        return getTestData(this.getClass().getSimpleName());
+    public Iterator<Object[]> testData() {
+        return getTestDataIterator(this.getClass().getSimpleName());
     }
 
     /**
@@ -89,8 +90,7 @@ public class ComputerCheckoutTest extends TestBase {
      * @param testData The test data for the current test case.
      */
     private void loginToApplication(Map<String, String> testData) {
-        homePageSteps.navigateToLoginPage();
-        loginPageSteps.login(testData.get("email"), testData.get("password"));
+        loginPageSteps.loginWithSession(testData.get("email"), testData.get("password"));
     }
 
     /**
@@ -99,8 +99,7 @@ public class ComputerCheckoutTest extends TestBase {
      * @param testData The test data for the current test case.
      */
     private void addProductToCart(Map<String, String> testData) {
-        landingPageSteps.navigateToCart();
-        cartPageSteps.removeAllProducts();
+        cartPageSteps.emptyCart();
         landingPageSteps.searchProduct(testData.get("product"));
         landingPageSteps.addProductToCart();
         productPageSteps.enterComputerSpecification(testData.get("processor"), testData.get("RAM"), testData.get("HDD"), testData.get("OS"), testData.get("software"));
@@ -1,5 +1,6 @@
 package org.ddf.test;
 
+import java.util.Iterator;
 import java.util.Map;
 import org.ddf.listeners.Retry;
 import org.ddf.utils.Log;
@@ -35,7 +36,7 @@ public class GiftCardCheckoutTest extends TestBase {
         initializeSteps();
 
         try {
-            loginAndNavigateToCart(testData);
+            loginAndEmptyCart(testData);
             addGiftCardToCart(testData);
             proceedToCheckoutAndPlaceOrder(testData);
             verifyOrderDetails(testData);
@@ -53,8 +54,8 @@ public class GiftCardCheckoutTest extends TestBase {
      * @return the test data for the test method
      */
     @DataProvider(name = "testData")
-    public Object[][] testData() {
-        return getTestData(this.getClass().getSimpleName());
+    public Iterator<Object[]> testData() {
+        return getTestDataIterator(this.getClass().getSimpleName());
     }
 
     /**
@@ -71,15 +72,13 @@ public class GiftCardCheckoutTest extends TestBase {
     }
 
     /**
-     * Login and navigate to the cart page.
+     * Login and empty the cart.
      *
      * @param testData the test data containing login information
      */
-    private void loginAndNavigateToCart(Map<String, String> testData) {
-        homePageSteps.navigateToLoginPage();
-        loginPageSteps.login(testData.get("email"), testData.get("password"));
-        landingPageSteps.navigateToCart();
-        cartPageSteps.removeAllProducts();
+    private void loginAndEmptyCart(Map<String, String> testData) {
+        loginPageSteps.loginWithSession(testData.get("email"), testData.get("password"));
+        cartPageSteps.emptyCart();
     }
 
     /**
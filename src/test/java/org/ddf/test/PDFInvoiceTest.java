@@ -33,8 +33,7 @@ public class PDFInvoiceTest extends TestBase {
     @Test(testName = "PDF Invoice Test - Order Details", description = "This test verifies the details on the PDF Invoice of an Order", retryAnalyzer = Retry.class)
     public void pdfInvoiceTestOrderDetails() {
         executePDFInvoiceTest("Order Details", () -> {
-            homePageSteps.navigateToLoginPage();
-            loginPageSteps.login(EMAIL, PASSWORD);
+            loginPageSteps.loginWithSession(EMAIL, PASSWORD);
             homePageSteps.navigateToUserAccount();
             orderPageSteps.navigateToDetailsFromMyOrder();
             try {
@@ -51,8 +50,7 @@ public class PDFInvoiceTest extends TestBase {
     @Test(testName = "PDF Invoice Test - Downloadable Products", description = "This test verifies the details on the PDF Invoice of Downloadable products", retryAnalyzer = Retry.class)
     public void pdfInvoiceTestDownloadableProducts() {
         executePDFInvoiceTest("Downloadable Products", () -> {
-            homePageSteps.navigateToLoginPage();
-            loginPageSteps.login(EMAIL, PASSWORD);
+            loginPageSteps.loginWithSession(EMAIL, PASSWORD);
             homePageSteps.navigateToUserAccount();
             orderPageSteps.navigateToDetailsFromDownloadableProducts();
             try {
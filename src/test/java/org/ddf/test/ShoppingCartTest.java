@@ -1,5 +1,6 @@
 package org.ddf.test;
 
+import java.util.Iterator;
 import java.util.Map;
 import org.ddf.listeners.Retry;
 import org.ddf.steps.CartPageSteps;
@@ -53,11 +54,11 @@ public class ShoppingCartTest extends TestBase {
     /**
      * This method provides the test data for the shopping cart test.
      *
-     * @return The test data as a 2D array.
+     * @return An iterator over the test data rows.
      */
     @DataProvider(name = "testData")
-    public Object[][] testData() {
-        return getTestData(this.getClass().getSimpleName());
+    public Iterator<Object[]> testData() {
+        return getTestDataIterator(this.getClass().getSimpleName());
     }
 
     /**
@@ -1,19 +1,24 @@
 package org.ddf.test;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import org.ddf.utils.DirectoryUtil;
+import org.ddf.utils.PDFInvoiceValidator;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestContext;
 import org.testng.annotations.*;
+import org.ddf.configurations.Configuration;
 import org.ddf.configurations.DriverManager;
 import org.ddf.configurations.GlobalVariables;
+import org.ddf.configurations.configManager;
 import org.ddf.listeners.TestListener;
 import org.ddf.reports.ReportManager;
-import org.ddf.utils.ExcelUtil;
+import org.ddf.utils.TestDataSource;
+import org.ddf.utils.TestDataSources;
 
 @Listeners({ TestListener.class })
 public class TestBase implements GlobalVariables {
@@ -57,13 +62,31 @@ public class TestBase implements GlobalVariables {
 		quitWebDriver();
 	}
 
+	/**
+	 * This method is called after all tests of the suite. It validates the PDF invoices queued by the tests and then
+	 * quits the pooled browsers, which may still be downloading the invoices until then.
+	 */
+	@AfterSuite(alwaysRun = true)
+	public void tearDownSuite() {
+		Map<String, List<String>> failedInvoices;
+		try {
+			failedInvoices = PDFInvoiceValidator.validateAll();
+		} finally {
+			DriverManager.closePool();
+		}
+		if (!failedInvoices.isEmpty()) {
+			throw new AssertionError("PDF invoices did not match: " + failedInvoices);
+		}
+	}
+
 	/**
 	 * This method clears the test folders.
 	 */
 	private void clearTestFolders() {
 		// Use DirectoryUtil to clear the download and screenshot folders.
+		// The download folders of the browsers are kept, browsers that are already running keep downloading into them.
 		DirectoryUtil directoryUtil = new DirectoryUtil();
-		directoryUtil.clearFolder(GlobalVariables.DOWNLOAD_FOLDER);
+		directoryUtil.deleteFiles(GlobalVariables.DOWNLOAD_FOLDER);
 		directoryUtil.clearFolder(GlobalVariables.SCREENSHOT_FOLDER);
 	}
 
@@ -71,31 +94,15 @@ public class TestBase implements GlobalVariables {
 	 * This method configures the WebDriver for the test.
 	 */
 	private void configureWebDriver() {
-		// Set up ChromeOptions for the WebDriver.
-		ChromeOptions options = new ChromeOptions();
-		HashMap<String, Object> chromeConfigs = new HashMap<>();
-		chromeConfigs.put("download.default_directory", GlobalVariables.DOWNLOAD_FOLDER);
-		options.setExperimentalOption("prefs", chromeConfigs);
-		options.addArguments("--remote-allow-origins=*");
-		options.setAcceptInsecureCerts(true);
+		// Lease a browser with the base URL open and set it to the DriverManager.
+		WebDriver driver = DriverManager.leaseDriver();
 
-		// Create a new ChromeDriver instance with the configured options.
-		WebDriver driver = new ChromeDriver(options);
-
-		// Set the window size to maximum.
-		driver.manage().window().maximize();
-
-		// Set the implicit wait time.
-		driver.manage().timeouts().implicitlyWait(GlobalVariables.IMPLICIT_WAIT);
+		// Set the implicit wait time from the current configuration.
+		Configuration configuration = configManager.getConfiguration();
+		driver.manage().timeouts().implicitlyWait(configuration.getImplicitWait());
 
 		// Create a WebDriverWait object for explicit waits.
-		wait = new WebDriverWait(driver, GlobalVariables.EXPLICIT_WAIT);
-
-		// Set the WebDriver instance to the DriverManager.
-		DriverManager.getInstance().setDriver(driver);
-
-		// Navigate to the base URL.
-		navigateToBaseUrl();
+		wait = new WebDriverWait(driver, configuration.getExplicitWait());
 	}
 
 	/**
@@ -109,7 +116,7 @@ public class TestBase implements GlobalVariables {
 	}
 
 	/**
-	 * This method quits the WebDriver.
+	 * This method quits the WebDriver, pooled browsers are returned to the pool.
 	 */
 	private void quitWebDriver() {
 		// Quit the WebDriver.
@@ -117,39 +124,49 @@ public class TestBase implements GlobalVariables {
 	}
 
 	/**
-	 * This method navigates to the base URL.
-	 */
-	private void navigateToBaseUrl() {
-		// Navigate to the base URL.
-		DriverManager.getDriver().get(GlobalVariables.BASE_URL);
-	}
-
-	/**
-	 * This method retrieves test data from an Excel file.
+	 * This method retrieves test data from the shared test data source.
 	 *
 	 * @param className The name of the class for which the test data is to be retrieved.
 	 * @return The test data as a 2D array.
 	 */
 	public Object[][] getTestData(String className) {
-		// Create an ExcelUtil object to read the Excel file.
-		ExcelUtil excelUtil = new ExcelUtil();
-
-		// Set the Excel file path.
-		excelUtil.setExcelFile(GlobalVariables.DATA_FOLDER + GlobalVariables.WORKBOOK);
-
-		// Get the number of rows in the Excel sheet for the given class name.
-		int testRowCount = excelUtil.getNumberOfRows(className);
-
-		// Create a 2D array to hold the test data.
-		Object[][] data = new Object[testRowCount - 1][1];
-
-		// Iterate through each row in the Excel sheet.
-		for (int i = 1; i < testRowCount; i++) {
-			// Add the data from the Excel sheet to the array.
-			data[i - 1][0] = excelUtil.getData(className, i);
+		// Get the shared test data source, the workbook extension selects the format.
+		TestDataSource testData = TestDataSources.open(GlobalVariables.DATA_FOLDER + GlobalVariables.WORKBOOK);
+
+		// Collect each data row of the sheet, blank rows are skipped.
+		List<Object[]> data = new ArrayList<>();
+		Iterator<Map<String, String>> rows = testData.rows(className);
+		while (rows.hasNext()) {
+			data.add(new Object[]{rows.next()});
 		}
 
 		// Return the test data array.
-		return data;
+		return data.toArray(new Object[0][]);
+	}
+
+	/**
+	 * This method retrieves test data from the shared test data source lazily,
+	 * materialising each row only when the data provider asks for it.
+	 *
+	 * @param className The name of the class for which the test data is to be retrieved.
+	 * @return An iterator over the test data rows.
+	 */
+	public Iterator<Object[]> getTestDataIterator(String className) {
+		// Get the shared test data source, the workbook extension selects the format.
+		TestDataSource testData = TestDataSources.open(GlobalVariables.DATA_FOLDER + GlobalVariables.WORKBOOK);
+
+		// Read each data row on demand, skipping the header row.
+		Iterator<Map<String, String>> rows = testData.rows(className);
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return rows.hasNext();
+			}
+
+			@Override
+			public Object[] next() {
+				return new Object[]{rows.next()};
+			}
+		};
 	}
 }
\ No newline at end of file
@@ -5,7 +5,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import org.testng.annotations.Factory;
 import org.ddf.configurations.GlobalVariables;
-import org.ddf.utils.ExcelUtil;
+import org.ddf.utils.TestDataSource;
+import org.ddf.utils.TestDataSources;
 
 public class TestExecutor implements GlobalVariables {
 
@@ -14,12 +15,10 @@ public class TestExecutor implements GlobalVariables {
 	public Object[] testCasesToExecute() {
 		ArrayList<Object> tests = new ArrayList<>();
 		try {
-			// Create an instance of ExcelUtil to read test data from an Excel file
-			ExcelUtil excelUtil = new ExcelUtil();
-			// Set the Excel file to be used by ExcelUtil
-			excelUtil.setExcelFile(DATA_FOLDER + WORKBOOK);
+			// Get the shared test data source, the workbook extension selects the format
+			TestDataSource testData = TestDataSources.open(DATA_FOLDER + WORKBOOK);
 			// Iterate through scenarios to run based on test data
-			for (String scenario : excelUtil.getScenariosToRun(SCENARIO_SHEET_NAME, RUN_MODE_COLUMN, TEST_CASE_COLUMN)) {
+			for (String scenario : testData.getScenariosToRun(SCENARIO_SHEET_NAME, RUN_MODE_COLUMN, TEST_CASE_COLUMN)) {
 				// Create a test object for each scenario and add it to the test list
 				tests.add(createTestObject(scenario));
 			}
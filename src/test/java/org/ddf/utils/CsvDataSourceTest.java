@@ -0,0 +1,93 @@
+package org.ddf.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the CSV test data source and its record scanner.
+ */
+public class CsvDataSourceTest {
+	private Path folder;
+	private CsvDataSource source;
+
+	@BeforeMethod
+	public void createFolder() throws IOException {
+		Files.createDirectories(Paths.get("target"));
+		folder = Files.createTempDirectory(Paths.get("target"), "csv-test");
+		source = new CsvDataSource(folder.resolve("TestData.csv").toString());
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteFolder() throws IOException {
+		try (var files = Files.list(folder)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(folder);
+	}
+
+	@Test
+	public void parseUnquotesFields() {
+		assertEquals(CsvDataSource.parse("a,\"b,c\",\"say \"\"hi\"\"\",,d"), List.of("a", "b,c", "say \"hi\"", "", "d"));
+		assertEquals(CsvDataSource.parse(""), List.of(""));
+	}
+
+	@Test
+	public void quotedLineBreaksStayInTheRecord() throws IOException {
+		write("Sheet", "\uFEFFTestCase,Address,RunMode\r\nTC1,\"Line 1\r\nLine 2\",YES\r\n\r\nTC2,Street,NO\r\n");
+		assertEquals(source.getNumberOfRows("Sheet"), 3);
+		assertEquals(source.getCellData(0, 0, "Sheet"), "TestCase");
+		assertEquals(source.getData("Sheet", 1).get("Address"), "Line 1\r\nLine 2");
+		assertEquals(source.getCellData(2, 1, "Sheet"), "Street");
+		assertEquals(source.getCellData(2, 9, "Sheet"), "");
+		assertEquals(source.getCellData(3, 0, "Sheet"), "");
+	}
+
+	@Test
+	public void scenariosFollowTheRunMode() throws IOException {
+		write("Regression", "Id,TestCase,Description,RunMode\n1,ShoppingCartTest,Cart,YES\n2,PDFInvoiceTest,Invoice,no\n3,FooterLinkTest,Links,yes\n");
+		assertEquals(source.getScenariosToRun("Regression", 3, 1), List.of("ShoppingCartTest", "FooterLinkTest"));
+	}
+
+	@Test
+	public void missingRowIsRejected() throws IOException {
+		write("Sheet", "TestCase\nTC1\n");
+		assertThrows(IllegalArgumentException.class, () -> source.getData("Sheet", 2));
+		assertThrows(IllegalArgumentException.class, () -> source.getData("Missing", 1));
+	}
+
+	@Test
+	public void iteratorKeepsReadingTheIndexItStartedOn() throws IOException {
+		Path sheet = write("Sheet", "TestCase\nTC1\nTC2\nTC3\n");
+		Iterator<Map<String, String>> rows = source.rows("Sheet");
+		assertEquals(rows.next().get("TestCase"), "TC1");
+
+		Files.write(sheet, "TestCase\nNEW\n".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(sheet, FileTime.fromMillis(Files.getLastModifiedTime(sheet).toMillis() + 2000));
+		assertEquals(source.getNumberOfRows("Sheet"), 2);
+
+		assertEquals(rows.next().get("TestCase"), "TC2");
+		assertEquals(rows.next().get("TestCase"), "TC3");
+		assertFalse(rows.hasNext());
+	}
+
+	private Path write(String sheetName, String content) throws IOException {
+		return Files.write(source.getSheetPath(sheetName), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
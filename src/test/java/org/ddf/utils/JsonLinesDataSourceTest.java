@@ -0,0 +1,84 @@
+package org.ddf.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the JSON lines test data source.
+ */
+public class JsonLinesDataSourceTest {
+	private Path folder;
+	private JsonLinesDataSource source;
+
+	@BeforeMethod
+	public void createFolder() throws IOException {
+		Files.createDirectories(Paths.get("target"));
+		folder = Files.createTempDirectory(Paths.get("target"), "jsonl-test");
+		source = new JsonLinesDataSource(folder.resolve("TestData.jsonl").toString());
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void deleteFolder() throws IOException {
+		try (var files = Files.list(folder)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(folder);
+	}
+
+	@Test
+	public void keysOfTheFirstObjectAreTheHeaders() throws IOException {
+		write("Sheet", "{\"TestCase\": \"TC1\", \"Quantity\": 2, \"Price\": 2.5, \"Gift\": true}\n"
+				+ "\n"
+				+ "{\"Quantity\": 10, \"TestCase\": \"TC2\", \"Unknown\": \"x\", \"Gift\": null, \"Options\": [1, 2]}\n");
+		assertEquals(source.getNumberOfRows("Sheet"), 3);
+		assertEquals(source.getCellData(0, 1, "Sheet"), "Quantity");
+
+		Map<String, String> first = source.getData("Sheet", 1);
+		assertEquals(first.get("TestCase"), "TC1");
+		assertEquals(first.get("Quantity"), "2");
+		assertEquals(first.get("Price"), "2.5");
+		assertEquals(first.get("Gift"), "true");
+
+		Map<String, String> second = source.getData("Sheet", 2);
+		assertEquals(second.get("TestCase"), "TC2");
+		assertEquals(second.get("Quantity"), "10");
+		assertEquals(second.get("Price"), "");
+		assertEquals(second.get("Gift"), "");
+		assertFalse(second.containsKey("Unknown"));
+	}
+
+	@Test
+	public void quotesDoNotJoinLines() throws IOException {
+		write("Sheet", "{\"TestCase\": \"say \\\"hi\"}\n{\"TestCase\": \"TC2\"}\n");
+		Iterator<Map<String, String>> rows = source.rows("Sheet");
+		assertEquals(rows.next().get("TestCase"), "say \"hi");
+		assertEquals(rows.next().get("TestCase"), "TC2");
+		assertFalse(rows.hasNext());
+	}
+
+	@Test
+	public void scenariosFollowTheRunMode() throws IOException {
+		write("Regression", "{\"Id\": 1, \"TestCase\": \"ShoppingCartTest\", \"Description\": \"Cart\", \"RunMode\": \"YES\"}\n"
+				+ "{\"Id\": 2, \"TestCase\": \"PDFInvoiceTest\", \"Description\": \"Invoice\", \"RunMode\": \"NO\"}\n");
+		assertEquals(source.getScenariosToRun("Regression", 3, 1), List.of("ShoppingCartTest"));
+	}
+
+	private void write(String sheetName, String content) throws IOException {
+		Files.write(source.getSheetPath(sheetName), content.getBytes(StandardCharsets.UTF_8));
+	}
+}
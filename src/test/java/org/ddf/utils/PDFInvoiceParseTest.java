@@ -0,0 +1,136 @@
+package org.ddf.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for parsing the text of PDF invoices into fields and line items.
+ */
+public class PDFInvoiceParseTest {
+	private static final String HEADER = String.join("\n",
+			"Order# 1781234",
+			"Date: Saturday, October 17, 2026",
+			"Billing Information Shipping Information",
+			"Name: John Smith",
+			"Email: john.smith@example.com",
+			"Payment method: Cash On Delivery (COD)",
+			"Shipping method: Ground",
+			"Product(s)",
+			"Name Price Qty Total");
+	private static final String TOTALS = String.join("\n",
+			"Sub-Total: 2,407.00",
+			"Shipping: 0.00",
+			"Payment method additional fee: 7.00",
+			"Tax: 0.00",
+			"Order total: 2,414.00");
+
+	@Test
+	public void singleLineProductsAreLineItems() {
+		PDFInvoice invoice = PDFInvoice.parse(String.join("\n", HEADER,
+				"Computing and Internet 10.00 1 10.00",
+				"14.1-inch Laptop 1590.00 2 3180.00",
+				TOTALS));
+		assertEquals(invoice.getOrderNumber(), "1781234");
+		assertEquals(invoice.getPaymentMethod(), "Cash On Delivery (COD)");
+		assertEquals(invoice.getShippingMethod(), "Ground");
+		assertEquals(PDFInvoice.amount(invoice.getOrderTotal()), new BigDecimal("2414.00"));
+		assertEquals(invoice.getLineItems().size(), 2);
+		PDFInvoice.LineItem laptop = invoice.getLineItems().get(1);
+		assertEquals(laptop.getName(), "14.1-inch Laptop");
+		assertEquals(laptop.getPrice(), "1590.00");
+		assertEquals(laptop.getQuantity(), "2");
+		assertEquals(laptop.getTotal(), "3180.00");
+		assertTrue(invoice.hasQuantity("2"));
+		assertTrue(invoice.hasQuantity(" 1 "));
+		assertFalse(invoice.hasQuantity("3"));
+		assertFalse(invoice.hasQuantity("two"));
+	}
+
+	@Test
+	public void attributeLinesBelongToTheProductCell() {
+		// The cells of the product table in stream order: the name and attribute lines, then price, quantity and total
+		PDFInvoice invoice = PDFInvoice.parse(String.join("\n", HEADER,
+				"Build your own computer",
+				"Processor: 2X",
+				"RAM: 2 GB",
+				"HDD: 320 GB",
+				"OS: Vista Home [+50.00]",
+				"1,200.00 2 2,400.00",
+				"Health Book",
+				"7.00",
+				"1",
+				"7.00",
+				TOTALS));
+		assertEquals(invoice.getLineItems().size(), 2);
+		PDFInvoice.LineItem computer = invoice.getLineItems().get(0);
+		assertEquals(computer.getName(), "Build your own computer");
+		assertEquals(computer.getPrice(), "1,200.00");
+		assertEquals(computer.getQuantity(), "2");
+		assertEquals(computer.getTotal(), "2,400.00");
+		assertEquals(computer.getAttributes(), Map.of("Processor", "2X", "RAM", "2 GB", "HDD", "320 GB", "OS", "Vista Home [+50.00]"));
+		PDFInvoice.LineItem book = invoice.getLineItems().get(1);
+		assertEquals(book.getName(), "Health Book");
+		assertEquals(book.getQuantity(), "1");
+		assertTrue(book.getAttributes().isEmpty());
+		assertTrue(invoice.hasQuantity("2"));
+		assertTrue(invoice.hasQuantity("1"));
+		// Attributes are not fields of the invoice, fields after the table are
+		assertNull(invoice.getField("Processor"));
+		assertEquals(invoice.getField("Sub-Total"), "2,407.00");
+		assertEquals(invoice.getOrderTotal(), "2,414.00");
+	}
+
+	@Test
+	public void attributeLinesFollowingTheAmountsBelongToTheProduct() {
+		// Text sorted by position puts the amounts on the first line of the product cell
+		PDFInvoice invoice = PDFInvoice.parse(String.join("\n", HEADER,
+				"Build your own computer $1,200.00 1 $1,200.00",
+				"Processor: 2X",
+				"RAM: 2 GB",
+				"Simple Computer $800.00 3 $2,400.00",
+				"Processor: 1.8 GHz",
+				TOTALS));
+		List<PDFInvoice.LineItem> lineItems = invoice.getLineItems();
+		assertEquals(lineItems.size(), 2);
+		assertEquals(lineItems.get(0).getName(), "Build your own computer");
+		assertEquals(lineItems.get(0).getAttributes(), Map.of("Processor", "2X", "RAM", "2 GB"));
+		assertEquals(lineItems.get(1).getName(), "Simple Computer");
+		assertEquals(lineItems.get(1).getPrice(), "$800.00");
+		assertEquals(lineItems.get(1).getAttributes(), Map.of("Processor", "1.8 GHz"));
+		assertTrue(invoice.hasQuantity("3"));
+		assertNull(invoice.getField("Processor"));
+	}
+
+	@Test
+	public void wrappedProductNamesAreJoined() {
+		PDFInvoice invoice = PDFInvoice.parse(String.join("\n", HEADER,
+				"Music 2 - digital download of the",
+				"album",
+				"10.00 1 10.00",
+				TOTALS));
+		assertEquals(invoice.getLineItems().size(), 1);
+		assertEquals(invoice.getLineItems().get(0).getName(), "Music 2 - digital download of the album");
+	}
+
+	@Test
+	public void invoiceWithoutShippingHasNoShippingMethod() {
+		PDFInvoice invoice = PDFInvoice.parse(String.join("\n",
+				"Order# 1781235",
+				"Payment method: Check / Money Order",
+				"Name Price Qty Total",
+				"3rd Album 1.00 1 1.00",
+				"Sub-Total: 1.00",
+				"Order total: 1.00"));
+		assertNull(invoice.getShippingMethod());
+		assertEquals(invoice.getPaymentMethod(), "Check / Money Order");
+		assertTrue(invoice.hasQuantity("1"));
+	}
+}
@@ -0,0 +1,101 @@
+package org.ddf.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for validating PDF invoices after the UI tests, with a download folder that outlives its browser.
+ */
+public class PDFInvoiceValidatorTest {
+	private static final List<String> INVOICE = List.of(
+			"Order# 1781234",
+			"Payment method: Cash On Delivery (COD)",
+			"Name Price Qty Total",
+			"Health Book 10.00 1 10.00",
+			"Sub-Total: 10.00",
+			"Order total: 10.00");
+
+	@Test
+	public void offlineValidationWithoutDriverPool() throws Exception {
+		// With driverPoolSize = 0 the browser is quit right after the test, which also stops watching its downloads
+		String folder = Files.createTempDirectory(new File("target").toPath(), "browser-").toString();
+		CompletableFuture<Void> download = CompletableFuture.runAsync(() -> downloadSlowly(Path.of(folder, "invoice_1781234.pdf")));
+		File pdfFile = PDFUtil.waitUntilDownloadCompleted(folder, "invoice_1781234.pdf");
+		DownloadTracker.stopWatching(folder);
+		download.join();
+		PDFInvoiceValidator.enqueue(pdfFile, "1781234", "10.00", "1", "Cash On Delivery (COD)");
+
+		Map<String, List<String>> failed = PDFInvoiceValidator.validateAll();
+		assertTrue(failed.isEmpty(), failed.toString());
+	}
+
+	@Test
+	public void mismatchesAreReportedByFileName() throws Exception {
+		File pdfFile = new File(Files.createTempDirectory(new File("target").toPath(), "browser-").toFile(), "invoice_1781235.pdf");
+		Files.write(pdfFile.toPath(), createInvoice());
+		PDFInvoiceValidator.enqueue(pdfFile, "1781234", "12.00", "1", "Cash On Delivery (COD)");
+
+		Map<String, List<String>> failed = PDFInvoiceValidator.validateAll();
+		assertEquals(failed.keySet(), Set.of("invoice_1781235.pdf"));
+		assertEquals(failed.get("invoice_1781235.pdf").size(), 1);
+	}
+
+	/**
+	 * Download an invoice the way Chrome does, into a partial file that is renamed when it is complete.
+	 */
+	private static void downloadSlowly(Path pdfFile) {
+		try {
+			byte[] content = createInvoice();
+			Path partial = pdfFile.resolveSibling(pdfFile.getFileName() + ".crdownload");
+			try (OutputStream out = Files.newOutputStream(partial)) {
+				out.write(content, 0, content.length / 2);
+				out.flush();
+				Thread.sleep(300);
+				out.write(content, content.length / 2, content.length - content.length / 2);
+			}
+			Files.move(partial, pdfFile);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static byte[] createInvoice() throws IOException {
+		try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			PDPage page = new PDPage();
+			document.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+				content.beginText();
+				content.setFont(PDType1Font.HELVETICA, 10);
+				content.setLeading(14);
+				content.newLineAtOffset(50, 700);
+				for (String line : INVOICE) {
+					content.showText(line);
+					content.newLine();
+				}
+				content.endText();
+			}
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package org.ddf.utils;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for the compiled workbook snapshot.
+ */
+public class WorkbookSnapshotTest {
+	private File workbook;
+
+	@BeforeClass
+	public void createWorkbook() throws IOException {
+		workbook = File.createTempFile("snapshot-test", ".xlsx", new File("target"));
+		try (XSSFWorkbook excelWorkbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(workbook)) {
+			XSSFSheet sheet = excelWorkbook.createSheet("Data");
+			writeRow(sheet, 0, "TestCase", "Product", "RunMode");
+			writeRow(sheet, 1, "TC1", "Laptop", "YES");
+			// Rows 2 and 3 are blank
+			writeRow(sheet, 4, "TC2", "Phone", "YES");
+			excelWorkbook.write(out);
+		}
+	}
+
+	@AfterClass(alwaysRun = true)
+	public void deleteWorkbook() throws IOException {
+		Files.deleteIfExists(SnapshotCompiler.getSnapshotPath(workbook.getPath()));
+		Files.deleteIfExists(workbook.toPath());
+	}
+
+	@Test
+	public void blankRowsKeepTheRowNumbers() {
+		WorkbookSnapshot snapshot = WorkbookSnapshot.load(workbook.getPath(), workbook.lastModified());
+		assertEquals(snapshot.getNumberOfRows("Data"), 5);
+		assertEquals(snapshot.getCellData(4, 1, "Data"), "Phone");
+		assertEquals(snapshot.getCellData(2, 1, "Data"), "");
+		assertEquals(snapshot.getData("Data", 4).get("Product"), "Phone");
+		assertEquals(snapshot.getScenariosToRun("Data", 2, 0), List.of("TC1", "TC2"));
+	}
+
+	@Test
+	public void rowsSkipBlankRows() {
+		Iterator<Map<String, String>> rows = WorkbookSnapshot.load(workbook.getPath(), workbook.lastModified()).rows("Data");
+		assertEquals(rows.next().get("TestCase"), "TC1");
+		assertEquals(rows.next().get("TestCase"), "TC2");
+		assertFalse(rows.hasNext());
+	}
+
+	@Test
+	public void missingRowIsRejected() {
+		WorkbookSnapshot snapshot = WorkbookSnapshot.load(workbook.getPath(), workbook.lastModified());
+		assertThrows(IllegalArgumentException.class, () -> snapshot.getData("Data", 5));
+		assertThrows(IllegalArgumentException.class, () -> snapshot.getData("Data", -1));
+	}
+
+	@Test
+	public void corruptSnapshotIsCompiledAgain() throws IOException {
+		Path snapshotPath = SnapshotCompiler.getSnapshotPath(workbook.getPath());
+		WorkbookSnapshot.load(workbook.getPath(), workbook.lastModified());
+		byte[] content = Files.readAllBytes(snapshotPath);
+		Files.write(snapshotPath, Arrays.copyOf(content, content.length - 3));
+
+		WorkbookSnapshot snapshot = WorkbookSnapshot.load(workbook.getPath(), workbook.lastModified());
+		assertEquals(snapshot.getData("Data", 1).get("Product"), "Laptop");
+		assertEquals(Files.size(snapshotPath), content.length);
+	}
+
+	@Test
+	public void unreadableWorkbookIsNotCompiled() throws IOException {
+		File notAWorkbook = File.createTempFile("snapshot-test", ".xlsx", new File("target"));
+		try {
+			Files.write(notAWorkbook.toPath(), "not a workbook".getBytes(StandardCharsets.UTF_8));
+			assertThrows(IOException.class, () -> SnapshotCompiler.compileToFile(notAWorkbook.getPath()));
+			assertFalse(Files.exists(SnapshotCompiler.getSnapshotPath(notAWorkbook.getPath())));
+		} finally {
+			Files.deleteIfExists(notAWorkbook.toPath());
+		}
+	}
+
+	private static void writeRow(XSSFSheet sheet, int rowNumb, String... cells) {
+		XSSFRow row = sheet.createRow(rowNumb);
+		for (int i = 0; i < cells.length; i++) {
+			row.createCell(i).setCellValue(cells[i]);
+		}
+	}
+}